@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.LargeSourceSet;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.config.Environment;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the top-level composite migrations against a generated corpus of legacy tests.
+ * <p>
+ * Every benchmark operation runs the recipe over {@link #CLASSES} generated source files, and is declared as that many
+ * operations, so that the reported score is the average time spent per source file. Combined with the
+ * {@link GCProfiler} this also reports the normalized allocation rate per source file. Run with
+ * {@code ./gradlew jmh} and compare the resulting {@code build/reports/jmh/results.json} across commits.
+ */
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class MigrationRecipeBenchmark {
+
+    private static final int CLASSES = 250;
+
+    @Param({
+            "JUNIT4:org.openrewrite.java.testing.junit5.JUnit4to5Migration",
+            "JMOCKIT:org.openrewrite.java.testing.jmockit.JMockitToMockito",
+            "HAMCREST:org.openrewrite.java.testing.hamcrest.MigrateHamcrestToAssertJ",
+            "JUNIT4:org.openrewrite.java.testing.assertj.Assertj",
+            "POWERMOCK:org.openrewrite.java.testing.mockito.ReplacePowerMockito"
+    })
+    String corpusAndRecipe;
+
+    Recipe recipe;
+    LargeSourceSet sourceSet;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String[] parts = corpusAndRecipe.split(":", 2);
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SourceFile> sourceFiles = TestCorpus.parse(TestCorpus.Kind.valueOf(parts[0]), CLASSES, ctx);
+        sourceSet = new InMemoryLargeSourceSet(sourceFiles);
+        recipe = Environment.builder()
+                .scanRuntimeClasspath("org.openrewrite.java.testing")
+                .build()
+                .activateRecipes(parts[1]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLASSES)
+    public void run(Blackhole blackhole) {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        blackhole.consume(recipe.run(sourceSet, ctx).getChangeset().getAllResults());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(MigrationRecipeBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("build/reports/jmh/results.json")
+                .build();
+        new Runner(opt).run();
+    }
+}
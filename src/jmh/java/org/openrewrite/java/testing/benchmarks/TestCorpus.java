@@ -0,0 +1,242 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.benchmarks;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Generates a synthetic corpus of legacy test classes, so the migration recipes can be measured
+ * against a code base of a configurable size without checking in thousands of sources.
+ */
+final class TestCorpus {
+
+    private TestCorpus() {
+    }
+
+    enum Kind {
+        JUNIT4,
+        JMOCKIT,
+        HAMCREST,
+        POWERMOCK
+    }
+
+    static List<SourceFile> parse(Kind kind, int classes, ExecutionContext ctx) {
+        List<String> sources = generate(kind, classes);
+        return JavaParser.fromJavaVersion()
+                .classpathFromResources(ctx, "junit-4.13", "hamcrest-2.2", "jmockit-1.49",
+                        "mockito-core-3.12", "powermock-core-1.6", "powermock-api-mockito-1.6", "powermock-api-support-1.6")
+                .logCompilationWarningsAndErrors(false)
+                .build()
+                .parse(ctx, sources.toArray(new String[0]))
+                .collect(toList());
+    }
+
+    static List<String> generate(Kind kind, int classes) {
+        List<String> sources = new ArrayList<>(classes);
+        for (int i = 0; i < classes; i++) {
+            switch (kind) {
+                case JUNIT4:
+                    sources.add(junit4(i));
+                    break;
+                case JMOCKIT:
+                    sources.add(jmockit(i));
+                    break;
+                case HAMCREST:
+                    sources.add(hamcrest(i));
+                    break;
+                case POWERMOCK:
+                    sources.add(powermock(i));
+                    break;
+            }
+        }
+        return sources;
+    }
+
+    private static String junit4(int i) {
+        //language=java
+        return String.format(
+                "package org.example.junit4;\n" +
+                "\n" +
+                "import org.junit.*;\n" +
+                "import org.junit.rules.TemporaryFolder;\n" +
+                "\n" +
+                "import java.io.File;\n" +
+                "import java.util.ArrayList;\n" +
+                "import java.util.List;\n" +
+                "\n" +
+                "import static org.junit.Assert.*;\n" +
+                "\n" +
+                "public class JUnit4Test%1$d {\n" +
+                "    @Rule\n" +
+                "    public TemporaryFolder folder = new TemporaryFolder();\n" +
+                "\n" +
+                "    private List<String> values;\n" +
+                "\n" +
+                "    @BeforeClass\n" +
+                "    public static void beforeAll() {\n" +
+                "    }\n" +
+                "\n" +
+                "    @Before\n" +
+                "    public void setUp() {\n" +
+                "        values = new ArrayList<>();\n" +
+                "        values.add(\"a%1$d\");\n" +
+                "    }\n" +
+                "\n" +
+                "    @Test\n" +
+                "    public void testSize() {\n" +
+                "        assertEquals(\"size\", 1, values.size());\n" +
+                "        assertTrue(values.contains(\"a%1$d\"));\n" +
+                "        assertFalse(values.isEmpty());\n" +
+                "        assertNotNull(values.get(0));\n" +
+                "    }\n" +
+                "\n" +
+                "    @Test(expected = IndexOutOfBoundsException.class)\n" +
+                "    public void testOutOfBounds() {\n" +
+                "        values.get(2);\n" +
+                "    }\n" +
+                "\n" +
+                "    @Test(timeout = 500)\n" +
+                "    public void testFolder() throws Exception {\n" +
+                "        File file = folder.newFile(\"file%1$d.txt\");\n" +
+                "        assertTrue(\"exists\", file.exists());\n" +
+                "    }\n" +
+                "\n" +
+                "    @Ignore(\"flaky\")\n" +
+                "    @Test\n" +
+                "    public void testIgnored() {\n" +
+                "        fail(\"not implemented\");\n" +
+                "    }\n" +
+                "\n" +
+                "    @After\n" +
+                "    public void tearDown() {\n" +
+                "        values.clear();\n" +
+                "    }\n" +
+                "}\n", i);
+    }
+
+    private static String jmockit(int i) {
+        //language=java
+        return String.format(
+                "package org.example.jmockit;\n" +
+                "\n" +
+                "import mockit.Expectations;\n" +
+                "import mockit.Mocked;\n" +
+                "import mockit.Verifications;\n" +
+                "import mockit.integration.junit4.JMockit;\n" +
+                "import org.junit.Test;\n" +
+                "import org.junit.runner.RunWith;\n" +
+                "\n" +
+                "import java.util.List;\n" +
+                "\n" +
+                "import static org.junit.Assert.assertEquals;\n" +
+                "\n" +
+                "@RunWith(JMockit.class)\n" +
+                "public class JMockitTest%1$d {\n" +
+                "    @Mocked\n" +
+                "    List<String> list;\n" +
+                "\n" +
+                "    @Test\n" +
+                "    public void test() {\n" +
+                "        new Expectations() {{\n" +
+                "            list.get(0);\n" +
+                "            result = \"first%1$d\";\n" +
+                "            list.size();\n" +
+                "            result = 1;\n" +
+                "            times = 1;\n" +
+                "        }};\n" +
+                "        assertEquals(\"first%1$d\", list.get(0));\n" +
+                "        assertEquals(1, list.size());\n" +
+                "        new Verifications() {{\n" +
+                "            list.add(anyString);\n" +
+                "            times = 0;\n" +
+                "        }};\n" +
+                "    }\n" +
+                "}\n", i);
+    }
+
+    private static String hamcrest(int i) {
+        //language=java
+        return String.format(
+                "package org.example.hamcrest;\n" +
+                "\n" +
+                "import org.junit.Test;\n" +
+                "\n" +
+                "import java.util.Arrays;\n" +
+                "import java.util.List;\n" +
+                "\n" +
+                "import static org.hamcrest.MatcherAssert.assertThat;\n" +
+                "import static org.hamcrest.Matchers.*;\n" +
+                "\n" +
+                "public class HamcrestTest%1$d {\n" +
+                "    @Test\n" +
+                "    public void test() {\n" +
+                "        String str = \"hello%1$d\";\n" +
+                "        List<String> list = Arrays.asList(\"a\", \"b\");\n" +
+                "        assertThat(str, is(equalTo(\"hello%1$d\")));\n" +
+                "        assertThat(str, not(isEmptyString()));\n" +
+                "        assertThat(str, startsWith(\"hello\"));\n" +
+                "        assertThat(str, containsString(\"%1$d\"));\n" +
+                "        assertThat(list, hasSize(2));\n" +
+                "        assertThat(list, hasItem(\"a\"));\n" +
+                "        assertThat(list, not(empty()));\n" +
+                "        assertThat(%1$d, greaterThanOrEqualTo(0));\n" +
+                "        assertThat(\"reason\", str, notNullValue());\n" +
+                "        assertThat(list, allOf(hasItem(\"a\"), hasItem(\"b\")));\n" +
+                "    }\n" +
+                "}\n", i);
+    }
+
+    private static String powermock(int i) {
+        //language=java
+        return String.format(
+                "package org.example.powermock;\n" +
+                "\n" +
+                "import org.junit.Test;\n" +
+                "import org.junit.runner.RunWith;\n" +
+                "import org.powermock.api.mockito.PowerMockito;\n" +
+                "import org.powermock.core.classloader.annotations.PrepareForTest;\n" +
+                "import org.powermock.modules.junit4.PowerMockRunner;\n" +
+                "\n" +
+                "import java.util.Calendar;\n" +
+                "import java.util.Currency;\n" +
+                "import java.util.Locale;\n" +
+                "\n" +
+                "import static org.junit.Assert.assertEquals;\n" +
+                "import static org.mockito.Mockito.mock;\n" +
+                "import static org.mockito.Mockito.when;\n" +
+                "\n" +
+                "@RunWith(PowerMockRunner.class)\n" +
+                "@PrepareForTest({Calendar.class, Currency.class})\n" +
+                "public class PowerMockTest%1$d {\n" +
+                "    @Test\n" +
+                "    public void test() {\n" +
+                "        PowerMockito.mockStatic(Calendar.class);\n" +
+                "        Calendar calendar = mock(Calendar.class);\n" +
+                "        when(Calendar.getInstance(Locale.ENGLISH)).thenReturn(calendar);\n" +
+                "        assertEquals(calendar, Calendar.getInstance(Locale.ENGLISH));\n" +
+                "        PowerMockito.mockStatic(Currency.class);\n" +
+                "        when(Currency.getInstance(Locale.ENGLISH)).thenReturn(null);\n" +
+                "    }\n" +
+                "}\n", i);
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import lombok.experimental.NonFinal;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.config.Environment;
+import org.openrewrite.java.testing.internal.RecipeMetrics;
+import org.openrewrite.java.testing.table.RecipePerformance;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class MeasureRecipePerformance extends Recipe {
+
+    private static final String METRICS_KEY = MeasureRecipePerformance.class.getName() + ".METRICS";
+
+    transient RecipePerformance performance = new RecipePerformance(this);
+
+    @Option(displayName = "Recipe",
+            description = "The fully qualified name of the recipe to run and measure, including all of the recipes it is composed of.",
+            example = "org.openrewrite.java.testing.junit5.JUnit4to5Migration")
+    String recipe;
+
+    @NonFinal
+    transient @Nullable List<Recipe> recipeList;
+
+    @JsonCreator
+    public MeasureRecipePerformance(@JsonProperty("recipe") String recipe) {
+        this.recipe = recipe;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Measure recipe performance";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Runs a recipe and records for it and each recipe it is composed of the wall time, the visited and changed " +
+               "source files, the lookups in the shared template cache and their hit rate, and how often its preconditions rejected a source file. " +
+               "Use it to find the recipes that are worth disabling or tuning for large runs.";
+    }
+
+    @Override
+    public synchronized List<Recipe> getRecipeList() {
+        if (recipeList == null) {
+            Recipe measured = Environment.builder()
+                    .scanRuntimeClasspath()
+                    .build()
+                    .activateRecipes(recipe);
+            recipeList = Collections.singletonList(new MeasuredRecipe(measured));
+        }
+        return recipeList;
+    }
+
+    @Override
+    public void onComplete(ExecutionContext ctx) {
+        Map<String, RecipeMetrics> metricsByRecipe = ctx.getMessage(METRICS_KEY);
+        if (metricsByRecipe == null) {
+            return;
+        }
+        for (RecipeMetrics metrics : metricsByRecipe.values()) {
+            long visited = metrics.getSourceFilesVisited();
+            long lookups = metrics.getCachedTemplateLookups();
+            performance.insertRow(ctx, new RecipePerformance.Row(
+                    metrics.getRecipeName(),
+                    metrics.getWallTimeMillis(),
+                    visited,
+                    metrics.getSourceFilesChanged(),
+                    lookups,
+                    lookups == 0 ? 0.0 : (double) metrics.getCachedTemplateHits() / lookups,
+                    metrics.getPreconditionRejections(),
+                    visited == 0 ? 0.0 : (double) metrics.getPreconditionRejections() / visited));
+        }
+    }
+
+    private static RecipeMetrics metrics(String recipeName, ExecutionContext ctx) {
+        Map<String, RecipeMetrics> metricsByRecipe = ctx.computeMessageIfAbsent(METRICS_KEY, k -> new ConcurrentHashMap<>());
+        return metricsByRecipe.computeIfAbsent(recipeName, RecipeMetrics::new);
+    }
+
+    /**
+     * Runs the delegate recipe with measured scanner and visitor, and wraps the recipes it is composed of alike. Plain
+     * recipes are run as scanning recipes without an accumulator and with a no-op scanner.
+     */
+    @Value
+    @EqualsAndHashCode(callSuper = false)
+    static class MeasuredRecipe extends ScanningRecipe<@Nullable Object> {
+        Recipe delegate;
+
+        @NonFinal
+        transient @Nullable List<Recipe> recipeList;
+
+        MeasuredRecipe(Recipe delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public String getDisplayName() {
+            return delegate.getDisplayName();
+        }
+
+        @Override
+        public String getDescription() {
+            return delegate.getDescription();
+        }
+
+        @Override
+        public boolean causesAnotherCycle() {
+            return delegate.causesAnotherCycle();
+        }
+
+        @Override
+        public synchronized List<Recipe> getRecipeList() {
+            if (recipeList == null) {
+                List<Recipe> recipes = new ArrayList<>();
+                for (Recipe r : delegate.getRecipeList()) {
+                    recipes.add(new MeasuredRecipe(r));
+                }
+                recipeList = recipes;
+            }
+            return recipeList;
+        }
+
+        @Override
+        public @Nullable Object getInitialValue(ExecutionContext ctx) {
+            return delegate instanceof ScanningRecipe ? ((ScanningRecipe<?>) delegate).getInitialValue(ctx) : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public TreeVisitor<?, ExecutionContext> getScanner(@Nullable Object acc) {
+            if (delegate instanceof ScanningRecipe) {
+                return new MeasuredVisitor(((ScanningRecipe<@Nullable Object>) delegate).getScanner(acc), delegate.getName(), false);
+            }
+            return TreeVisitor.noop();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Collection<? extends SourceFile> generate(@Nullable Object acc, Collection<SourceFile> generatedInThisCycle, ExecutionContext ctx) {
+            if (delegate instanceof ScanningRecipe) {
+                return ((ScanningRecipe<@Nullable Object>) delegate).generate(acc, generatedInThisCycle, ctx);
+            }
+            return Collections.emptyList();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor(@Nullable Object acc) {
+            TreeVisitor<?, ExecutionContext> visitor = delegate instanceof ScanningRecipe ?
+                    ((ScanningRecipe<@Nullable Object>) delegate).getVisitor(acc) :
+                    delegate.getVisitor();
+            return new MeasuredVisitor(visitor, delegate.getName(), true);
+        }
+    }
+
+    private static class MeasuredVisitor extends TreeVisitor<Tree, ExecutionContext> {
+        private final TreeVisitor<?, ExecutionContext> delegate;
+        private final String recipeName;
+        private final boolean sourceFileVisit;
+
+        MeasuredVisitor(TreeVisitor<?, ExecutionContext> delegate, String recipeName, boolean sourceFileVisit) {
+            this.delegate = delegate;
+            this.recipeName = recipeName;
+            this.sourceFileVisit = sourceFileVisit;
+        }
+
+        @Override
+        public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+            return delegate.isAcceptable(sourceFile, ctx);
+        }
+
+        @Override
+        public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+            if (!(tree instanceof SourceFile)) {
+                return delegate.visit(tree, ctx, getCursor());
+            }
+            RecipeMetrics.Visit visit = metrics(recipeName, ctx).startVisit();
+            Tree after = tree;
+            try {
+                after = delegate.visit(tree, ctx, getCursor());
+            } finally {
+                visit.end(sourceFileVisit, after != tree);
+            }
+            return after;
+        }
+    }
+}
@@ -20,8 +20,8 @@ import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.*;
-import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.service.AnnotationService;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
 import org.openrewrite.java.tree.J;
 
 import java.util.Comparator;
@@ -41,7 +41,7 @@ public class ReplaceArquillianInSequenceAnnotation extends Recipe {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(
-                new UsesType<>("org.jboss.arquillian.junit.InSequence", false),
+                new IndexedUsesType("org.jboss.arquillian.junit.InSequence", false),
                 new JavaIsoVisitor<ExecutionContext>() {
                     private final String IN_SEQUENCE = "org.jboss.arquillian.junit.InSequence";
                     private final String TEST_METHOD_ORDER = "org.junit.jupiter.api.TestMethodOrder";
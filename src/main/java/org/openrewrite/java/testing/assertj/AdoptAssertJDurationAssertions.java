@@ -23,7 +23,7 @@ import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.testing.internal.IndexedUsesMethod;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
@@ -89,13 +89,13 @@ public class AdoptAssertJDurationAssertions extends Recipe {
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(
                 or(
-                        new UsesMethod<>(DURATION_ASSERT_HAS_LONG, true),
-                        new UsesMethod<>(INTEGER_ASSERT_IS_EQUAL_TO, true),
-                        new UsesMethod<>(INTEGER_ASSERT_IS_GREATER_THAN, true),
-                        new UsesMethod<>(INTEGER_ASSERT_IS_LESS_THAN, true),
-                        new UsesMethod<>(LONG_ASSERT_IS_EQUAL_TO, true),
-                        new UsesMethod<>(LONG_ASSERT_IS_GREATER_THAN, true),
-                        new UsesMethod<>(LONG_ASSERT_IS_LESS_THAN, true)
+                        new IndexedUsesMethod(DURATION_ASSERT_HAS_LONG, true),
+                        new IndexedUsesMethod(INTEGER_ASSERT_IS_EQUAL_TO, true),
+                        new IndexedUsesMethod(INTEGER_ASSERT_IS_GREATER_THAN, true),
+                        new IndexedUsesMethod(INTEGER_ASSERT_IS_LESS_THAN, true),
+                        new IndexedUsesMethod(LONG_ASSERT_IS_EQUAL_TO, true),
+                        new IndexedUsesMethod(LONG_ASSERT_IS_GREATER_THAN, true),
+                        new IndexedUsesMethod(LONG_ASSERT_IS_LESS_THAN, true)
                 ), new JavaIsoVisitor<ExecutionContext>() {
                     @Override
                     public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
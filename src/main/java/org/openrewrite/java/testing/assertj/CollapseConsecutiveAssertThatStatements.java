@@ -19,7 +19,7 @@ import org.openrewrite.*;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.SemanticallyEqual;
-import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.testing.internal.IndexedUsesMethod;
 import org.openrewrite.java.tree.*;
 
 import java.util.ArrayList;
@@ -42,7 +42,7 @@ public class CollapseConsecutiveAssertThatStatements extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesMethod<>(ASSERT_THAT), new JavaIsoVisitor<ExecutionContext>() {
+        return Preconditions.check(new IndexedUsesMethod(ASSERT_THAT), new JavaIsoVisitor<ExecutionContext>() {
             @Override
             public J.Block visitBlock(J.Block block, ExecutionContext ctx) {
                 J.Block bl = super.visitBlock(block, ctx);
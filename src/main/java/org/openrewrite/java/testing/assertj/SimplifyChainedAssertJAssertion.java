@@ -23,9 +23,9 @@ import org.openrewrite.Option;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.testing.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.TypeUtils;
@@ -82,89 +82,119 @@ public class SimplifyChainedAssertJAssertion extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        MethodMatcher assertThatMatcher = new MethodMatcher("org.assertj.core.api.Assertions assertThat(..)");
-        MethodMatcher chainedAssertMatcher = new MethodMatcher("java..* " + chainedAssertion + "(..)");
-        MethodMatcher assertToReplace = new MethodMatcher("org.assertj.core.api.* " + this.assertToReplace + "(..)");
-
+        Simplification simplification = new Simplification(chainedAssertion, assertToReplace, dedicatedAssertion, requiredType);
         return new JavaIsoVisitor<ExecutionContext>() {
             @Override
             public J.MethodInvocation visitMethodInvocation(J.MethodInvocation methodInvocation, ExecutionContext ctx) {
                 J.MethodInvocation mi = super.visitMethodInvocation(methodInvocation, ctx);
+                J.MethodInvocation simplified = simplification.simplify(this, mi, ctx);
+                return simplified == null ? mi : simplified;
+            }
+        };
+    }
 
-                // assert has correct assertion
-                if (!assertToReplace.matches(mi) || mi.getArguments().size() != 1) {
-                    return mi;
-                }
-
-                // assertThat has method call
-                J.MethodInvocation assertThat = (J.MethodInvocation) mi.getSelect();
-                if (!assertThatMatcher.matches(assertThat) || !(assertThat.getArguments().get(0) instanceof J.MethodInvocation)) {
-                    return mi;
-                }
-
-                J.MethodInvocation assertThatArg = (J.MethodInvocation) assertThat.getArguments().get(0);
-                if (!chainedAssertMatcher.matches(assertThatArg)) {
-                    return mi;
-                }
-
-                // Extract the actual argument for the new assertThat call
-                Expression actual = assertThatArg.getSelect() != null ? assertThatArg.getSelect() : assertThatArg;
-                if (!TypeUtils.isAssignableTo(requiredType, actual.getType())) {
-                    return mi;
-                }
-                List<Expression> arguments = new ArrayList<>();
-                arguments.add(actual);
-
-                String template = getStringTemplateAndAppendArguments(assertThatArg, mi, arguments);
-                return JavaTemplate.builder(String.format(template, dedicatedAssertion))
-                        .contextSensitive()
-                        .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "junit-jupiter-api-5.9", "assertj-core-3.24"))
-                        .build()
-                        .apply(getCursor(), mi.getCoordinates().replace(), arguments.toArray());
+    /**
+     * A single chained assertion simplification, shared with {@link SimplifyChainedAssertJAssertionTable}
+     * which applies many of them in one traversal.
+     */
+    static class Simplification {
+        private static final MethodMatcher ASSERT_THAT_MATCHER = new MethodMatcher("org.assertj.core.api.Assertions assertThat(..)");
+
+        @Nullable
+        private final String requiredType;
+
+        @Nullable
+        private final String dedicatedAssertion;
+
+        private final MethodMatcher chainedAssertMatcher;
+        private final MethodMatcher assertToReplaceMatcher;
+
+        Simplification(@Nullable String chainedAssertion, @Nullable String assertToReplace,
+                       @Nullable String dedicatedAssertion, @Nullable String requiredType) {
+            this.requiredType = requiredType;
+            this.dedicatedAssertion = dedicatedAssertion;
+            this.chainedAssertMatcher = new MethodMatcher("java..* " + chainedAssertion + "(..)");
+            this.assertToReplaceMatcher = new MethodMatcher("org.assertj.core.api.* " + assertToReplace + "(..)");
+        }
+
+        /**
+         * @return the simplified assertion, or {@code null} when this simplification does not apply to the invocation.
+         */
+        J.@Nullable MethodInvocation simplify(JavaVisitor<ExecutionContext> visitor, J.MethodInvocation mi, ExecutionContext ctx) {
+            // assert has correct assertion
+            if (!assertToReplaceMatcher.matches(mi) || mi.getArguments().size() != 1) {
+                return null;
             }
 
-            private String getStringTemplateAndAppendArguments(J.MethodInvocation assertThatArg, J.MethodInvocation methodToReplace, List<Expression> arguments) {
-                Expression assertThatArgument = assertThatArg.getArguments().get(0);
-                Expression methodToReplaceArgument = methodToReplace.getArguments().get(0);
-                boolean assertThatArgumentIsEmpty = assertThatArgument instanceof J.Empty;
-                boolean methodToReplaceArgumentIsEmpty = methodToReplaceArgument instanceof J.Empty;
-
-                // If both arguments are empty, then the select is already added to the arguments list, and we use a minimal template
-                if (assertThatArgumentIsEmpty && methodToReplaceArgumentIsEmpty) {
-                    return "assertThat(#{any()}).%s()";
-                }
-
-                // If both arguments are not empty, then we add both to the arguments to the arguments list, and return a template with two arguments
-                if (!assertThatArgumentIsEmpty && !methodToReplaceArgumentIsEmpty) {
-                    // This should only happen for map assertions using a key and value
-                    arguments.add(assertThatArgument);
-                    arguments.add(methodToReplaceArgument);
-                    return "assertThat(#{any()}).%s(#{any()}, #{any()})";
-                }
-
-                // If either argument is empty, we choose which one to add to the arguments list, and optionally extract the select
-                arguments.add(extractEitherArgument(assertThatArgumentIsEmpty, assertThatArgument, methodToReplaceArgument));
-
-                // Special case for Path.of() assertions
-                if ("java.nio.file.Path".equals(requiredType) && dedicatedAssertion.contains("Raw") &&
-                    TypeUtils.isAssignableTo("java.lang.String", assertThatArgument.getType())) {
-                    maybeAddImport("java.nio.file.Path");
-                    return "assertThat(#{any()}).%s(Path.of(#{any()}))";
-                }
-
-                return "assertThat(#{any()}).%s(#{any()})";
+            // assertThat has method call
+            J.MethodInvocation assertThat = (J.MethodInvocation) mi.getSelect();
+            if (!ASSERT_THAT_MATCHER.matches(assertThat) || !(assertThat.getArguments().get(0) instanceof J.MethodInvocation)) {
+                return null;
             }
 
-            private Expression extractEitherArgument(boolean assertThatArgumentIsEmpty, Expression assertThatArgument, Expression methodToReplaceArgument) {
-                if (assertThatArgumentIsEmpty) {
-                    return methodToReplaceArgument;
-                }
-                // Only on the assertThat argument do we possibly replace the argument with the select; such as list.size() -> list
-                if (chainedAssertMatcher.matches(assertThatArgument)) {
-                    return Objects.requireNonNull(((J.MethodInvocation) assertThatArgument).getSelect());
-                }
-                return assertThatArgument;
+            J.MethodInvocation assertThatArg = (J.MethodInvocation) assertThat.getArguments().get(0);
+            if (!chainedAssertMatcher.matches(assertThatArg)) {
+                return null;
             }
-        };
+
+            // Extract the actual argument for the new assertThat call
+            Expression actual = assertThatArg.getSelect() != null ? assertThatArg.getSelect() : assertThatArg;
+            if (!TypeUtils.isAssignableTo(requiredType, actual.getType())) {
+                return null;
+            }
+            List<Expression> arguments = new ArrayList<>();
+            arguments.add(actual);
+
+            String template = getStringTemplateAndAppendArguments(visitor, assertThatArg, mi, arguments);
+            return JavaTemplateCache.builder(String.format(template, dedicatedAssertion))
+                    .contextSensitive()
+                    .classpathFromResources("junit-jupiter-api-5.9", "assertj-core-3.24")
+                    .build(ctx)
+                    .apply(visitor.getCursor(), mi.getCoordinates().replace(), arguments.toArray());
+        }
+
+        private String getStringTemplateAndAppendArguments(JavaVisitor<ExecutionContext> visitor, J.MethodInvocation assertThatArg,
+                                                           J.MethodInvocation methodToReplace, List<Expression> arguments) {
+            Expression assertThatArgument = assertThatArg.getArguments().get(0);
+            Expression methodToReplaceArgument = methodToReplace.getArguments().get(0);
+            boolean assertThatArgumentIsEmpty = assertThatArgument instanceof J.Empty;
+            boolean methodToReplaceArgumentIsEmpty = methodToReplaceArgument instanceof J.Empty;
+
+            // If both arguments are empty, then the select is already added to the arguments list, and we use a minimal template
+            if (assertThatArgumentIsEmpty && methodToReplaceArgumentIsEmpty) {
+                return "assertThat(#{any()}).%s()";
+            }
+
+            // If both arguments are not empty, then we add both to the arguments to the arguments list, and return a template with two arguments
+            if (!assertThatArgumentIsEmpty && !methodToReplaceArgumentIsEmpty) {
+                // This should only happen for map assertions using a key and value
+                arguments.add(assertThatArgument);
+                arguments.add(methodToReplaceArgument);
+                return "assertThat(#{any()}).%s(#{any()}, #{any()})";
+            }
+
+            // If either argument is empty, we choose which one to add to the arguments list, and optionally extract the select
+            arguments.add(extractEitherArgument(assertThatArgumentIsEmpty, assertThatArgument, methodToReplaceArgument));
+
+            // Special case for Path.of() assertions
+            if ("java.nio.file.Path".equals(requiredType) && dedicatedAssertion.contains("Raw") &&
+                TypeUtils.isAssignableTo("java.lang.String", assertThatArgument.getType())) {
+                visitor.maybeAddImport("java.nio.file.Path");
+                return "assertThat(#{any()}).%s(Path.of(#{any()}))";
+            }
+
+            return "assertThat(#{any()}).%s(#{any()})";
+        }
+
+        private Expression extractEitherArgument(boolean assertThatArgumentIsEmpty, Expression assertThatArgument, Expression methodToReplaceArgument) {
+            if (assertThatArgumentIsEmpty) {
+                return methodToReplaceArgument;
+            }
+            // Only on the assertThat argument do we possibly replace the argument with the select; such as list.size() -> list
+            if (chainedAssertMatcher.matches(assertThatArgument)) {
+                return Objects.requireNonNull(((J.MethodInvocation) assertThatArgument).getSelect());
+            }
+            return assertThatArgument;
+        }
     }
 }
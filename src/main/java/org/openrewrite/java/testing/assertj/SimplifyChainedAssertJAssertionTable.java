@@ -0,0 +1,171 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.assertj;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.testing.assertj.SimplifyChainedAssertJAssertion.Simplification;
+import org.openrewrite.java.testing.internal.IndexedUsesMethod;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+
+import java.util.*;
+
+public class SimplifyChainedAssertJAssertionTable extends Recipe {
+
+    /**
+     * Simplifications indexed by the name of the assertion to replace, then by the name of the chained method,
+     * each list kept in declaration order so that the first applicable simplification wins.
+     */
+    private static final Map<String, Map<String, List<Simplification>>> SIMPLIFICATIONS = new HashMap<>();
+
+    static {
+        // String Assertions
+        add("isEmpty", "isTrue", "isEmpty", "java.lang.String");
+        add("getString", "hasSize", "isEmpty", "java.lang.String");
+        add("equals", "isTrue", "isEqualTo", "java.lang.String");
+        add("equalsIgnoreCase", "isTrue", "isEqualToIgnoringCase", "java.lang.String");
+        add("contains", "isTrue", "contains", "java.lang.String");
+        add("contains", "isFalse", "doesNotContain", "java.lang.String");
+        add("startsWith", "isTrue", "startsWith", "java.lang.String");
+        add("startsWith", "isFalse", "doesNotStartWith", "java.lang.String");
+        add("endsWith", "isTrue", "endsWith", "java.lang.String");
+        add("endsWith", "isFalse", "doesNotEndWith", "java.lang.String");
+        add("matches", "isTrue", "matches", "java.lang.String");
+        add("matches", "isFalse", "doesNotMatch", "java.lang.String");
+        add("trim", "isEmpty", "isBlank", "java.lang.String");
+        add("length", "isEqualTo", "hasSize", "java.lang.String");
+        add("isEmpty", "isFalse", "isNotEmpty", "java.lang.String");
+        add("length", "hasSize", "hasSameSizeAs", "java.lang.String");
+        // File Assertions
+        add("getFile", "hasSize", "isEmpty", "java.io.File");
+        add("length", "isZero", "isEmpty", "java.io.File");
+        add("length", "isEqualTo", "hasSize", "java.io.File");
+        add("canRead", "isTrue", "canRead", "java.io.File");
+        add("canWrite", "isTrue", "canWrite", "java.io.File");
+        add("exists", "isTrue", "exists", "java.io.File");
+        add("getName", "isEqualTo", "hasName", "java.io.File");
+        add("getParent", "isEqualTo", "hasParent", "java.io.File");
+        add("getParentFile", "isNull", "hasNoParent", "java.io.File");
+        add("isAbsolute", "isTrue", "isAbsolute", "java.io.File");
+        add("isAbsolute", "isFalse", "isRelative", "java.io.File");
+        add("isDirectory", "isTrue", "isDirectory", "java.io.File");
+        add("isFile", "isTrue", "isFile", "java.io.File");
+        add("list", "isEmpty", "isEmptyDirectory", "java.io.File");
+        // Path Assertions
+        add("startsWith", "isTrue", "startsWithRaw", "java.nio.file.Path");
+        add("endsWith", "isTrue", "endsWithRaw", "java.nio.file.Path");
+        add("getParent", "isEqualTo", "hasParentRaw", "java.nio.file.Path");
+        add("getParent", "isNull", "hasNoParentRaw", "java.nio.file.Path");
+        add("isAbsolute", "isTrue", "isAbsolute", "java.nio.file.Path");
+        add("isAbsolute", "isFalse", "isRelative", "java.nio.file.Path");
+        // Collection Assertions
+        add("isEmpty", "isTrue", "isEmpty", "java.util.Collection");
+        add("isEmpty", "isFalse", "isNotEmpty", "java.util.Collection");
+        add("size", "isZero", "isEmpty", "java.util.Collection");
+        add("size", "isEqualTo", "hasSize", "java.util.Collection");
+        add("contains", "isTrue", "contains", "java.util.Collection");
+        add("contains", "isFalse", "doesNotContain", "java.util.Collection");
+        add("containsAll", "isTrue", "containsAll", "java.util.Collection");
+        // Map Assertions
+        add("size", "isEqualTo", "hasSize", "java.util.Map");
+        add("containsKey", "isTrue", "containsKey", "java.util.Map");
+        add("keySet", "contains", "containsKey", "java.util.Map");
+        add("keySet", "containsOnly", "containsOnlyKeys", "java.util.Map");
+        add("containsValue", "isTrue", "containsValue", "java.util.Map");
+        add("values", "contains", "containsValue", "java.util.Map");
+        add("get", "isEqualTo", "containsEntry", "java.util.Map");
+        add("isEmpty", "isTrue", "isEmpty", "java.util.Map");
+        add("isEmpty", "isFalse", "isNotEmpty", "java.util.Map");
+        // Optional Assertions
+        add("isPresent", "isTrue", "isPresent", "java.util.Optional");
+        add("isEmpty", "isTrue", "isEmpty", "java.util.Optional");
+        add("isPresent", "isFalse", "isNotPresent", "java.util.Optional");
+        add("isEmpty", "isFalse", "isNotEmpty", "java.util.Optional");
+        add("get", "isEqualTo", "contains", "java.util.Optional");
+        add("get", "isSameAs", "containsSame", "java.util.Optional");
+        add("hasNext", "isTrue", "hasNext", "java.util.Iterator");
+        add("hasNext", "isFalse", "isExhausted", "java.util.Iterator");
+        // Object assertions
+        add("toString", "isEqualTo", "hasToString", "java.lang.Object");
+        add("equals", "isTrue", "isEqualTo", "java.lang.Object");
+    }
+
+    private static void add(String chainedAssertion, String assertToReplace, String dedicatedAssertion, String requiredType) {
+        SIMPLIFICATIONS.computeIfAbsent(assertToReplace, k -> new HashMap<>())
+                .computeIfAbsent(chainedAssertion, k -> new ArrayList<>())
+                .add(new Simplification(chainedAssertion, assertToReplace, dedicatedAssertion, requiredType));
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Simplify AssertJ chained assertions in a single pass";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Replace AssertJ assertions where a method is called on the actual value with a dedicated assertion, " +
+               "looking up every supported chained method and assertion pair in one traversal.";
+    }
+
+    @Override
+    public Set<String> getTags() {
+        return Collections.singleton("RSPEC-S5838");
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(new IndexedUsesMethod("org.assertj.core.api.Assertions assertThat(..)"), new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation methodInvocation, ExecutionContext ctx) {
+                J.MethodInvocation mi = super.visitMethodInvocation(methodInvocation, ctx);
+                // A simplified assertion may itself be simplified further, such as `map.keySet().contains(k)` that
+                // first becomes `assertThat(map.keySet()).contains(k)` and then `assertThat(map).containsKey(k)`
+                for (J.MethodInvocation simplified = simplify(mi, ctx); simplified != null; simplified = simplify(mi, ctx)) {
+                    mi = simplified;
+                    updateCursor(mi);
+                }
+                return mi;
+            }
+
+            private J.@Nullable MethodInvocation simplify(J.MethodInvocation mi, ExecutionContext ctx) {
+                Map<String, List<Simplification>> byChainedAssertion = SIMPLIFICATIONS.get(mi.getSimpleName());
+                if (byChainedAssertion == null || !(mi.getSelect() instanceof J.MethodInvocation)) {
+                    return null;
+                }
+                List<Expression> assertThatArguments = ((J.MethodInvocation) mi.getSelect()).getArguments();
+                if (assertThatArguments.isEmpty() || !(assertThatArguments.get(0) instanceof J.MethodInvocation)) {
+                    return null;
+                }
+                List<Simplification> candidates = byChainedAssertion.get(((J.MethodInvocation) assertThatArguments.get(0)).getSimpleName());
+                if (candidates == null) {
+                    return null;
+                }
+                for (Simplification candidate : candidates) {
+                    J.MethodInvocation simplified = candidate.simplify(this, mi, ctx);
+                    if (simplified != null) {
+                        return simplified;
+                    }
+                }
+                return null;
+            }
+        });
+    }
+}
@@ -23,7 +23,8 @@ import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.testing.internal.IndexedUsesMethod;
+import org.openrewrite.java.testing.internal.JavaParserPool;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
@@ -44,16 +45,10 @@ public class AssertEqualsNullToAssertNull extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesMethod<>(ASSERT_EQUALS), new JavaVisitor<ExecutionContext>() {
-
-            JavaParser.Builder<?, ?> javaParser = null;
+        return Preconditions.check(new IndexedUsesMethod(ASSERT_EQUALS), new JavaVisitor<ExecutionContext>() {
 
             private JavaParser.Builder<?, ?> javaParser(ExecutionContext ctx) {
-                if (javaParser == null) {
-                    javaParser = JavaParser.fromJavaVersion()
-                            .classpathFromResources(ctx, "junit-jupiter-api-5.9");
-                }
-                return javaParser;
+                return JavaParserPool.fromResources(ctx, "junit-jupiter-api-5.9");
             }
 
             @Override
@@ -22,6 +22,7 @@ import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.testing.internal.JavaParserPool;
 import org.openrewrite.java.tree.J;
 
 public class AssertFalseNegationToAssertTrue extends Recipe {
@@ -43,14 +44,8 @@ public class AssertFalseNegationToAssertTrue extends Recipe {
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return new JavaVisitor<ExecutionContext>() {
 
-            JavaParser.Builder<?, ?> javaParser = null;
-
             private JavaParser.Builder<?, ?> javaParser(ExecutionContext ctx) {
-                if (javaParser == null) {
-                    javaParser = JavaParser.fromJavaVersion()
-                            .classpathFromResources(ctx, "junit-jupiter-api-5.9");
-                }
-                return javaParser;
+                return JavaParserPool.fromResources(ctx, "junit-jupiter-api-5.9");
             }
 
             @Override
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.cleanup;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Classifies method calls by a set of package or type prefixes, such as {@code org.assertj.core.api}, and fully
+ * qualified method names, such as {@code org.mockito.Mockito.verify}.
+ * <p>
+ * A call matches when the fully qualified name of its declaring type starts with one of the names, or when the
+ * declaring type followed by {@code .} and the method name is exactly one of the names. Nested types may be spelled
+ * with {@code .} or {@code $}. Matching walks the characters
+ * of the declaring type and method name through a trie built once, without allocating. Instances are immutable and
+ * can be shared between threads.
+ */
+final class QualifiedNameTrie {
+    private final Node root = new Node();
+
+    private QualifiedNameTrie() {
+    }
+
+    static QualifiedNameTrie of(Collection<String> packagesTypesOrMethods) {
+        QualifiedNameTrie trie = new QualifiedNameTrie();
+        for (String name : packagesTypesOrMethods) {
+            if (name.isEmpty()) {
+                continue;
+            }
+            Node node = trie.root;
+            for (int i = 0; i < name.length(); i++) {
+                node = node.getOrAdd(normalize(name.charAt(i)));
+            }
+            node.terminal = true;
+        }
+        return trie;
+    }
+
+    boolean matches(J.MethodInvocation methodInvocation) {
+        return matches(methodInvocation.getMethodType());
+    }
+
+    boolean matches(JavaType.@Nullable Method method) {
+        if (method == null) {
+            return false;
+        }
+        String declaringType = method.getDeclaringType().getFullyQualifiedName();
+        Node node = root;
+        for (int i = 0; i < declaringType.length(); i++) {
+            node = node.get(normalize(declaringType.charAt(i)));
+            if (node == null) {
+                return false;
+            }
+            if (node.terminal) {
+                return true;
+            }
+        }
+        node = node.get('.');
+        String name = method.getName();
+        for (int i = 0; node != null && i < name.length(); i++) {
+            node = node.get(name.charAt(i));
+        }
+        return node != null && node.terminal;
+    }
+
+    private static char normalize(char c) {
+        return c == '$' ? '.' : c;
+    }
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private boolean terminal;
+
+        private @Nullable Node get(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node getOrAdd(char c) {
+            Node child = get(c);
+            if (child == null) {
+                child = new Node();
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                keys[keys.length - 1] = c;
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+    }
+}
@@ -21,10 +21,8 @@ import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.NameCaseConvention;
 import org.openrewrite.java.AnnotationMatcher;
-import org.openrewrite.java.ChangeMethodName;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.J.MethodDeclaration;
 import org.openrewrite.java.tree.JavaType;
@@ -32,7 +30,11 @@ import org.openrewrite.java.tree.TypeUtils;
 
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class RemoveTestPrefix extends Recipe {
@@ -65,11 +67,11 @@ public class RemoveTestPrefix extends Recipe {
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(
                 Preconditions.or(
-                        new UsesType<>("org.junit.jupiter.api.Test", false),
-                        new UsesType<>("org.junit.jupiter.api.TestTemplate", false),
-                        new UsesType<>("org.junit.jupiter.api.RepeatedTest", false),
-                        new UsesType<>("org.junit.jupiter.params.ParameterizedTest", false),
-                        new UsesType<>("org.junit.jupiter.api.TestFactory", false)
+                        new IndexedUsesType("org.junit.jupiter.api.Test", false),
+                        new IndexedUsesType("org.junit.jupiter.api.TestTemplate", false),
+                        new IndexedUsesType("org.junit.jupiter.api.RepeatedTest", false),
+                        new IndexedUsesType("org.junit.jupiter.params.ParameterizedTest", false),
+                        new IndexedUsesType("org.junit.jupiter.api.TestFactory", false)
                 ),
                 new RemoveTestPrefixVisitor());
     }
@@ -77,6 +79,21 @@ public class RemoveTestPrefix extends Recipe {
     private static class RemoveTestPrefixVisitor extends JavaIsoVisitor<ExecutionContext> {
 
         private static final AnnotationMatcher ANNOTATION_MATCHER = new AnnotationMatcher("@org.junit.jupiter.params.provider.MethodSource");
+        private static final String RENAMES = "RENAMES";
+        private static final String CLAIMED_NAMES = "CLAIMED_NAMES";
+
+        @Override
+        public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+            // Collect the renames of all test methods, then rename declarations and call sites in one traversal
+            Map<String, String> renames = new HashMap<>();
+            getCursor().putMessage(RENAMES, renames);
+            getCursor().putMessage(CLAIMED_NAMES, new HashSet<String>());
+            J.CompilationUnit c = super.visitCompilationUnit(cu, ctx);
+            if (!renames.isEmpty()) {
+                c = (J.CompilationUnit) new RenameMethods(renames).visitNonNull(c, ctx, getCursor().getParentOrThrow());
+            }
+            return c;
+        }
 
         @Override
         public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method,
@@ -110,9 +127,12 @@ public class RemoveTestPrefix extends Recipe {
                 return m;
             }
 
-            // Prevent conflicts with existing methods
+            // Prevent conflicts with existing methods and other renamed methods
             JavaType.Method type = m.getMethodType();
-            if (type == null || methodExists(type, newMethodName)) {
+            Map<String, String> renames = getCursor().getNearestMessage(RENAMES);
+            Set<String> claimedNames = getCursor().getNearestMessage(CLAIMED_NAMES);
+            if (type == null || renames == null || claimedNames == null || methodExists(type, newMethodName) ||
+                claimedNames.contains(signature(type.withName(newMethodName)))) {
                 return m;
             }
 
@@ -139,8 +159,10 @@ public class RemoveTestPrefix extends Recipe {
                 return m;
             }
 
-            // Rename method and return
-            doAfterVisit(new ChangeMethodName(MethodMatcher.methodPattern(m), newMethodName, false, false).getVisitor());
+            // Record the rename, which is applied once the whole compilation unit has been visited.
+            // The new signature is claimed as well, so that no other method is renamed to the same name.
+            renames.put(signature(type), newMethodName);
+            claimedNames.add(signature(type.withName(newMethodName)));
             return m;
         }
 
@@ -162,4 +184,57 @@ public class RemoveTestPrefix extends Recipe {
         }
     }
 
+    private static String signature(JavaType.Method method) {
+        return method.getDeclaringType().getFullyQualifiedName() + ' ' + method.getName() + method.getParameterTypes();
+    }
+
+    /**
+     * Renames declarations, invocations and references of several methods at once, like {@code ChangeMethodName}
+     * does for a single method.
+     */
+    private static class RenameMethods extends JavaIsoVisitor<ExecutionContext> {
+        private final Map<String, String> renames;
+
+        RenameMethods(Map<String, String> renames) {
+            this.renames = renames;
+        }
+
+        @Override
+        public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+            J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
+            JavaType.Method type = m.getMethodType();
+            String newName = type == null ? null : renames.get(signature(type));
+            if (type == null || newName == null) {
+                return m;
+            }
+            JavaType.Method renamedType = type.withName(newName);
+            return m.withName(m.getName().withSimpleName(newName).withType(renamedType))
+                    .withMethodType(renamedType);
+        }
+
+        @Override
+        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+            J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
+            JavaType.Method type = m.getMethodType();
+            String newName = type == null ? null : renames.get(signature(type));
+            if (type == null || newName == null) {
+                return m;
+            }
+            JavaType.Method renamedType = type.withName(newName);
+            return m.withName(m.getName().withSimpleName(newName).withType(renamedType))
+                    .withMethodType(renamedType);
+        }
+
+        @Override
+        public J.MemberReference visitMemberReference(J.MemberReference memberRef, ExecutionContext ctx) {
+            J.MemberReference m = super.visitMemberReference(memberRef, ctx);
+            JavaType.Method type = m.getMethodType();
+            String newName = type == null ? null : renames.get(signature(type));
+            if (type == null || newName == null) {
+                return m;
+            }
+            return m.withReference(m.getReference().withSimpleName(newName))
+                    .withMethodType(type.withName(newName));
+        }
+    }
 }
@@ -18,7 +18,7 @@ package org.openrewrite.java.testing.cleanup;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
 
@@ -51,11 +51,11 @@ public class SimplifyTestThrows extends Recipe {
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(
                 Preconditions.or(
-                        new UsesType<>("org.junit.jupiter.api.Test", false),
-                        new UsesType<>("org.junit.jupiter.api.TestTemplate", false),
-                        new UsesType<>("org.junit.jupiter.api.RepeatedTest", false),
-                        new UsesType<>("org.junit.jupiter.params.ParameterizedTest", false),
-                        new UsesType<>("org.junit.jupiter.api.TestFactory", false)
+                        new IndexedUsesType("org.junit.jupiter.api.Test", false),
+                        new IndexedUsesType("org.junit.jupiter.api.TestTemplate", false),
+                        new IndexedUsesType("org.junit.jupiter.api.RepeatedTest", false),
+                        new IndexedUsesType("org.junit.jupiter.params.ParameterizedTest", false),
+                        new IndexedUsesType("org.junit.jupiter.api.TestFactory", false)
                 ),
                 new JavaIsoVisitor<ExecutionContext>() {
                     @Override
@@ -15,15 +15,17 @@
  */
 package org.openrewrite.java.testing.cleanup;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
+import org.openrewrite.java.testing.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeUtils;
@@ -34,7 +36,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 @SuppressWarnings("SimplifyStreamApiCallChains")
 @Value
 @EqualsAndHashCode(callSuper = false)
-public class TestsShouldIncludeAssertions extends Recipe {
+public class TestsShouldIncludeAssertions extends ScanningRecipe<TestsShouldIncludeAssertions.Accumulator> {
     private static final List<String> TEST_ANNOTATIONS = Collections.singletonList("org.junit.jupiter.api.Test");
 
     private static final List<String> DEFAULT_ASSERTIONS = Arrays.asList(
@@ -56,6 +58,8 @@ public class TestsShouldIncludeAssertions extends Recipe {
             "reactor.test.StepVerifier"
     );
 
+    static final QualifiedNameTrie DEFAULT_ASSERTIONS_TRIE = QualifiedNameTrie.of(DEFAULT_ASSERTIONS);
+
     @Option(displayName = "Additional assertions",
             description = "A comma delimited list of packages and/or classes that will be identified as assertions. I.E. a common assertion utility `org.foo.TestUtil`.",
             example = "org.foo.TestUtil, org.bar",
@@ -63,6 +67,18 @@ public class TestsShouldIncludeAssertions extends Recipe {
     @Nullable
     String additionalAsserts;
 
+    /**
+     * The default assertions together with the additional assertions, built once for this recipe instance.
+     */
+    @Getter(AccessLevel.NONE)
+    transient QualifiedNameTrie assertions;
+
+    @JsonCreator
+    public TestsShouldIncludeAssertions(@JsonProperty("additionalAsserts") @Nullable String additionalAsserts) {
+        this.additionalAsserts = additionalAsserts;
+        this.assertions = assertions(additionalAsserts);
+    }
+
     @Override
     public String getDisplayName() {
         return "Include an assertion in tests";
@@ -93,21 +109,182 @@ public class TestsShouldIncludeAssertions extends Recipe {
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesType<>("org.junit.jupiter.api.Test", false), new TestShouldIncludeAssertionsVisitor(additionalAsserts));
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        return new Accumulator();
     }
 
-    private static class TestShouldIncludeAssertionsVisitor extends JavaIsoVisitor<ExecutionContext> {
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
+        return new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
+                J.MethodDeclaration caller = getCursor().firstEnclosing(J.MethodDeclaration.class);
+                if (caller != null && caller.getMethodType() != null) {
+                    if (assertions.matches(mi)) {
+                        acc.addAssertion(caller.getMethodType());
+                    } else if (mi.getMethodType() != null) {
+                        acc.addCall(caller.getMethodType(), mi.getMethodType());
+                    }
+                }
+                return mi;
+            }
+        };
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(Accumulator acc) {
+        return Preconditions.check(new IndexedUsesType("org.junit.jupiter.api.Test", false),
+                new TestShouldIncludeAssertionsVisitor(assertions, acc));
+    }
+
+    static boolean methodIsTest(J.MethodDeclaration methodDeclaration) {
+        for (J.Annotation leadingAnnotation : methodDeclaration.getLeadingAnnotations()) {
+            for (String testAnnotation : TEST_ANNOTATIONS) {
+                if (TypeUtils.isOfClassType(leadingAnnotation.getType(), testAnnotation)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static QualifiedNameTrie assertions(@Nullable String additionalAsserts) {
+        if (additionalAsserts == null) {
+            return DEFAULT_ASSERTIONS_TRIE;
+        }
+        List<String> assertions = new ArrayList<>(DEFAULT_ASSERTIONS);
+        assertions.addAll(Arrays.asList(additionalAsserts.split(",\\s*")));
+        return QualifiedNameTrie.of(assertions);
+    }
+
+    /**
+     * Every method of the repository that calls an assertion, directly or through a chain of helper methods, possibly
+     * declared in other source files. Methods are numbered as they are first seen, so that the methods reaching an
+     * assertion are kept as a bit set indexed by that number, computed when first asked for and again whenever a later
+     * scan adds to the call graph. The number of a method type is remembered by identity, so that its signature is only
+     * resolved once. Source files may be scanned and visited concurrently, so access is synchronized.
+     */
+    public static class Accumulator {
+        private final Map<JavaType.Method, Integer> typeIds = new IdentityHashMap<>();
+        private final Map<String, Integer> methodIds = new HashMap<>();
+        private final List<Set<Integer>> callers = new ArrayList<>();
+        private final BitSet assertingMethods = new BitSet();
+
+        private @Nullable BitSet reachingMethods;
+
+        synchronized void addAssertion(JavaType.Method caller) {
+            int callerId = id(caller);
+            if (!assertingMethods.get(callerId)) {
+                assertingMethods.set(callerId);
+                reachingMethods = null;
+            }
+        }
+
+        synchronized void addCall(JavaType.Method caller, JavaType.Method callee) {
+            int callerId = id(caller);
+            if (callers.get(id(callee)).add(callerId)) {
+                reachingMethods = null;
+            }
+        }
+
+        synchronized boolean reachesAssertion(JavaType.@Nullable Method method) {
+            if (method == null) {
+                return false;
+            }
+            Integer id = typeIds.get(method);
+            if (id == null) {
+                id = methodIds.get(signature(method));
+            }
+            return id != null && reachingMethods().get(id);
+        }
+
+        private BitSet reachingMethods() {
+            if (reachingMethods == null) {
+                // Walk the call graph backwards from the methods calling an assertion, marking each method once
+                BitSet reaching = new BitSet(methodIds.size());
+                Deque<Integer> toVisit = new ArrayDeque<>();
+                assertingMethods.stream().forEach(toVisit::add);
+                while (!toVisit.isEmpty()) {
+                    int method = toVisit.poll();
+                    if (!reaching.get(method)) {
+                        reaching.set(method);
+                        toVisit.addAll(callers.get(method));
+                    }
+                }
+                reachingMethods = reaching;
+            }
+            return reachingMethods;
+        }
+
+        private int id(JavaType.Method method) {
+            return typeIds.computeIfAbsent(method, m -> methodIds.computeIfAbsent(signature(m), k -> {
+                callers.add(new HashSet<>());
+                return callers.size() - 1;
+            }));
+        }
+
+        /**
+         * Keyed on the erased parameter types of the declaration, as invocations of generic methods carry the types
+         * of their arguments, like {@code java.lang.String} for a parameter declared as {@code T}.
+         */
+        private static String signature(JavaType.Method method) {
+            JavaType.Method declared = declaredMethod(method);
+            StringJoiner signature = new StringJoiner(",", erasure(declared.getDeclaringType()) + "#" + declared.getName() + "(", ")");
+            for (JavaType parameterType : declared.getParameterTypes()) {
+                signature.add(erasure(parameterType));
+            }
+            return signature.toString();
+        }
+
+        private static JavaType.Method declaredMethod(JavaType.Method method) {
+            List<JavaType.Method> candidates = new ArrayList<>();
+            for (JavaType.Method candidate : method.getDeclaringType().getMethods()) {
+                if (candidate.getName().equals(method.getName()) &&
+                    candidate.getParameterTypes().size() == method.getParameterTypes().size()) {
+                    candidates.add(candidate);
+                }
+            }
+            if (candidates.size() == 1) {
+                return candidates.get(0);
+            }
+            // Of several overloads, an invocation with the declared parameter types calls the non-generic one
+            for (JavaType.Method candidate : candidates) {
+                if (erasures(candidate).equals(erasures(method))) {
+                    return candidate;
+                }
+            }
+            return method;
+        }
 
-        private final Map<String, Set<J.Block>> matcherPatternToClassInvocation = new HashMap<>();
-        private final List<String> additionalAsserts;
+        private static List<String> erasures(JavaType.Method method) {
+            List<String> erasures = new ArrayList<>(method.getParameterTypes().size());
+            for (JavaType parameterType : method.getParameterTypes()) {
+                erasures.add(erasure(parameterType));
+            }
+            return erasures;
+        }
 
-        TestShouldIncludeAssertionsVisitor(@Nullable String additionalAsserts) {
-            List<String> assertions = new ArrayList<>();
-            if (additionalAsserts != null) {
-                assertions.addAll(Arrays.asList(additionalAsserts.split(",\\s*")));
+        private static String erasure(JavaType type) {
+            if (type instanceof JavaType.GenericTypeVariable) {
+                List<JavaType> bounds = ((JavaType.GenericTypeVariable) type).getBounds();
+                return bounds.isEmpty() ? "java.lang.Object" : erasure(bounds.get(0));
+            } else if (type instanceof JavaType.Array) {
+                return erasure(((JavaType.Array) type).getElemType()) + "[]";
             }
-            this.additionalAsserts = assertions;
+            JavaType.FullyQualified fullyQualified = TypeUtils.asFullyQualified(type);
+            return fullyQualified == null ? type.toString() : fullyQualified.getFullyQualifiedName();
+        }
+    }
+
+    private static class TestShouldIncludeAssertionsVisitor extends JavaIsoVisitor<ExecutionContext> {
+
+        private final QualifiedNameTrie assertions;
+        private final Accumulator acc;
+
+        TestShouldIncludeAssertionsVisitor(QualifiedNameTrie assertions, Accumulator acc) {
+            this.assertions = assertions;
+            this.acc = acc;
         }
 
         @Override
@@ -116,7 +293,7 @@ public class TestsShouldIncludeAssertions extends Recipe {
             if ((!methodIsTest(method) || method.getBody() == null || method.getBody().getStatements().isEmpty()) ||
                 methodIsDisabled(method) ||
                 methodHasAssertion(method.getBody()) ||
-                methodInvocationInBodyContainsAssertion()) {
+                acc.reachesAssertion(method.getMethodType())) {
                 return method;
             }
 
@@ -124,27 +301,15 @@ public class TestsShouldIncludeAssertions extends Recipe {
             J.Block body = md.getBody();
             if (body != null) {
                 maybeAddImport("org.junit.jupiter.api.Assertions", "assertDoesNotThrow");
-                md = JavaTemplate.builder("assertDoesNotThrow(() -> #{any()});")
+                md = JavaTemplateCache.builder("assertDoesNotThrow(() -> #{any()});")
                         .staticImports("org.junit.jupiter.api.Assertions.assertDoesNotThrow")
-                        .javaParser(JavaParser.fromJavaVersion()
-                                .classpathFromResources(ctx, "junit-jupiter-api-5.9"))
-                        .build()
+                        .classpathFromResources("junit-jupiter-api-5.9")
+                        .build(ctx)
                         .apply(updateCursor(md), md.getCoordinates().replaceBody(), body);
             }
             return md;
         }
 
-        private boolean methodIsTest(J.MethodDeclaration methodDeclaration) {
-            for (J.Annotation leadingAnnotation : methodDeclaration.getLeadingAnnotations()) {
-                for (String testAnnotation : TEST_ANNOTATIONS) {
-                    if (TypeUtils.isOfClassType(leadingAnnotation.getType(), testAnnotation)) {
-                        return true;
-                    }
-                }
-            }
-            return false;
-        }
-
         private boolean methodIsDisabled(J.MethodDeclaration methodDeclaration) {
             for (J.Annotation leadingAnnotation : methodDeclaration.getLeadingAnnotations()) {
                 if (TypeUtils.isOfClassType(leadingAnnotation.getType(), "org.junit.jupiter.api.Disabled")) {
@@ -160,7 +325,7 @@ public class TestsShouldIncludeAssertions extends Recipe {
                 @Override
                 public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, AtomicBoolean atomicBoolean) {
                     J.MethodInvocation mi = super.visitMethodInvocation(method, atomicBoolean);
-                    if (isAssertion(mi)) {
+                    if (assertions.matches(mi)) {
                         atomicBoolean.set(Boolean.TRUE);
                     }
                     return mi;
@@ -169,79 +334,5 @@ public class TestsShouldIncludeAssertions extends Recipe {
             findAssertionVisitor.visit(body, hasAssertion);
             return hasAssertion.get();
         }
-
-        private boolean methodInvocationInBodyContainsAssertion() {
-            J.ClassDeclaration classDeclaration = getCursor().dropParentUntil(org.openrewrite.java.tree.J.ClassDeclaration.class::isInstance).getValue();
-
-            JavaIsoVisitor<Set<MethodMatcher>> findMethodDeclarationsVisitor = new JavaIsoVisitor<Set<MethodMatcher>>() {
-                @Override
-                public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Set<MethodMatcher> methodMatchers) {
-                    J.MethodInvocation mi = super.visitMethodInvocation(method, methodMatchers);
-                    if (classDeclaration.getType() != null && mi.getMethodType() != null) {
-                        JavaType.Method mType = mi.getMethodType();
-                        if (classDeclaration.getType().getFullyQualifiedName().equals(mType.getDeclaringType().getFullyQualifiedName())) {
-                            methodMatchers.add(new MethodMatcher(mType));
-                        }
-                    }
-                    return mi;
-                }
-            };
-
-            Set<MethodMatcher> methodMatchers = new HashSet<>();
-            findMethodDeclarationsVisitor.visit(classDeclaration, methodMatchers);
-            Set<J.Block> methodBodies = new HashSet<>();
-
-            methodMatchers.forEach(matcher -> {
-                Set<J.Block> declarationBodies = matcherPatternToClassInvocation.computeIfAbsent(matcher.toString(),
-                        k -> findMethodDeclarations(classDeclaration, matcher));
-                methodBodies.addAll(declarationBodies);
-            });
-            return methodBodies.stream().anyMatch(this::methodHasAssertion);
-        }
-
-        private Set<J.Block> findMethodDeclarations(J.ClassDeclaration classDeclaration, MethodMatcher methodMatcher) {
-            JavaIsoVisitor<Set<J.Block>> findMethodDeclarationVisitor = new JavaIsoVisitor<Set<J.Block>>() {
-                @Override
-                public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, Set<J.Block> blocks) {
-                    J.MethodDeclaration m = super.visitMethodDeclaration(method, blocks);
-                    if (methodMatcher.matches(m, classDeclaration)) {
-                        if (m.getBody() != null) {
-                            blocks.add(m.getBody());
-                        }
-                    }
-                    return m;
-                }
-            };
-
-            Set<J.Block> blocks = new HashSet<>();
-            findMethodDeclarationVisitor.visit(classDeclaration, blocks);
-            return blocks;
-        }
-
-        private boolean isAssertion(J.MethodInvocation methodInvocation) {
-            if (methodInvocation.getMethodType() == null) {
-                return false;
-            }
-            String fqt = methodInvocation.getMethodType().getDeclaringType().getFullyQualifiedName();
-            for (String assertionClassOrPackage : DEFAULT_ASSERTIONS) {
-                if (fqt.startsWith(assertionClassOrPackage)) {
-                    return true;
-                }
-            }
-            String methodFqn = methodInvocation.getMethodType().getDeclaringType().getFullyQualifiedName() + "." + methodInvocation.getSimpleName();
-            for (String assertMethod : DEFAULT_ASSERTIONS) {
-                if (assertMethod.equals(methodFqn)) {
-                    return true;
-                }
-            }
-            if (additionalAsserts != null) {
-                for (String assertionClassOrPackage : additionalAsserts) {
-                    if (fqt.startsWith(assertionClassOrPackage)) {
-                        return true;
-                    }
-                }
-            }
-            return false;
-        }
     }
 }
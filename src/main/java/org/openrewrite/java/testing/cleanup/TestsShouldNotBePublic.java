@@ -24,15 +24,15 @@ import org.openrewrite.Option;
 import org.openrewrite.ScanningRecipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
-import org.openrewrite.java.ChangeMethodAccessLevelVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.tree.Comment;
 import org.openrewrite.java.tree.Flag;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeUtils;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = false)
@@ -72,7 +72,7 @@ public class TestsShouldNotBePublic extends ScanningRecipe<TestsShouldNotBePubli
             public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDeclaration, ExecutionContext ctx) {
                 J.ClassDeclaration cd = super.visitClassDeclaration(classDeclaration, ctx);
                 if (cd.getExtends() != null) {
-                    acc.extendedClasses.add(String.valueOf(cd.getExtends().getType()));
+                    acc.addExtendedClass(TypeUtils.asFullyQualified(cd.getExtends().getType()));
                 }
                 return cd;
             }
@@ -85,7 +85,25 @@ public class TestsShouldNotBePublic extends ScanningRecipe<TestsShouldNotBePubli
     }
 
     public static class Accumulator {
-        Set<String> extendedClasses = new HashSet<>();
+        /**
+         * Simple names of the extended classes, grouped by package so that each package name is only stored once.
+         * Source files may be scanned concurrently.
+         */
+        private final Map<String, Set<String>> extendedClasses = new ConcurrentHashMap<>();
+
+        void addExtendedClass(JavaType.@Nullable FullyQualified type) {
+            if (type != null) {
+                extendedClasses.computeIfAbsent(type.getPackageName(), p -> ConcurrentHashMap.newKeySet()).add(type.getClassName());
+            }
+        }
+
+        boolean isExtended(JavaType.@Nullable FullyQualified type) {
+            if (type == null) {
+                return false;
+            }
+            Set<String> classNames = extendedClasses.get(type.getPackageName());
+            return classNames != null && classNames.contains(type.getClassName());
+        }
     }
 
     @RequiredArgsConstructor
@@ -100,7 +118,7 @@ public class TestsShouldNotBePublic extends ScanningRecipe<TestsShouldNotBePubli
             if (c.getKind() != J.ClassDeclaration.Kind.Type.Interface &&
                     c.getModifiers().stream().anyMatch(mod -> mod.getType() == J.Modifier.Type.Public) &&
                     c.getModifiers().stream().noneMatch(mod -> mod.getType() == J.Modifier.Type.Abstract) &&
-                    !acc.extendedClasses.contains(String.valueOf(c.getType()))) {
+                    !acc.isExtended(c.getType())) {
                 boolean hasTestMethods = c.getBody().getStatements().stream()
                         .filter(org.openrewrite.java.tree.J.MethodDeclaration.class::isInstance)
                         .map(J.MethodDeclaration.class::cast)
@@ -119,22 +137,9 @@ public class TestsShouldNotBePublic extends ScanningRecipe<TestsShouldNotBePubli
 
                 if (hasTestMethods && !hasPublicNonTestMethods && !hasPublicVariableDeclarations) {
                     // Remove public modifier and move associated comment
-                    final List<Comment> modifierComments = new ArrayList<>();
-                    List<J.Modifier> modifiers = ListUtils.map(c.getModifiers(), mod -> {
-                        if (mod.getType() == J.Modifier.Type.Public) {
-                            modifierComments.addAll(mod.getComments());
-                            return null;
-                        }
-
-                        // copy access level modifier comment to next modifier if it exists
-                        if (!modifierComments.isEmpty()) {
-                            J.Modifier nextModifier = mod.withComments(ListUtils.concatAll(new ArrayList<>(modifierComments), mod.getComments()));
-                            modifierComments.clear();
-                            return nextModifier;
-                        }
-                        return mod;
-                    });
-                    // if no following modifier exists, add comments to method itself
+                    List<Comment> modifierComments = new ArrayList<>();
+                    List<J.Modifier> modifiers = removeAccessModifier(c.getModifiers(), modifierComments);
+                    // if no following modifier exists, add comments to class itself
                     if (!modifierComments.isEmpty()) {
                         c = c.withComments(ListUtils.concatAll(c.getComments(), modifierComments));
                     }
@@ -159,13 +164,40 @@ public class TestsShouldNotBePublic extends ScanningRecipe<TestsShouldNotBePubli
 
             if ((m.hasModifier(J.Modifier.Type.Public) || (orProtected && m.hasModifier(J.Modifier.Type.Protected))) &&
                 hasJUnit5MethodAnnotation(m)) {
-                // remove public modifier
-                doAfterVisit(new ChangeMethodAccessLevelVisitor<>(new MethodMatcher(method), null));
+                // Remove access modifier in place, rather than in another traversal per method
+                List<Comment> modifierComments = new ArrayList<>();
+                List<J.Modifier> modifiers = removeAccessModifier(m.getModifiers(), modifierComments);
+                // if no following modifier exists, add comments to method itself
+                if (!modifierComments.isEmpty()) {
+                    m = m.withComments(ListUtils.concatAll(m.getComments(), modifierComments));
+                }
+                m = maybeAutoFormat(m, m.withModifiers(modifiers), m.getName(), ctx, getCursor().getParentTreeCursor());
             }
 
             return m;
         }
 
+        /**
+         * Removes the public or protected modifier, copying its comments to the next modifier if it exists.
+         * Otherwise the comments are added to {@code modifierComments}.
+         */
+        private static List<J.Modifier> removeAccessModifier(List<J.Modifier> modifiers, List<Comment> modifierComments) {
+            return ListUtils.map(modifiers, mod -> {
+                if (mod.getType() == J.Modifier.Type.Public || mod.getType() == J.Modifier.Type.Protected) {
+                    modifierComments.addAll(mod.getComments());
+                    return null;
+                }
+
+                // copy access level modifier comment to next modifier if it exists
+                if (!modifierComments.isEmpty()) {
+                    J.Modifier nextModifier = mod.withComments(ListUtils.concatAll(new ArrayList<>(modifierComments), mod.getComments()));
+                    modifierComments.clear();
+                    return nextModifier;
+                }
+                return mod;
+            });
+        }
+
         private boolean hasJUnit5MethodAnnotation(J.MethodDeclaration method) {
             for (J.Annotation a : method.getLeadingAnnotations()) {
                 if (TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.Test") ||
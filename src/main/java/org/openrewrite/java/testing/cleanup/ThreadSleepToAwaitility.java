@@ -0,0 +1,350 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.cleanup;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.dependencies.AddDependency;
+import org.openrewrite.java.testing.internal.IndexedUsesMethod;
+import org.openrewrite.java.testing.internal.JavaTemplateCache;
+import org.openrewrite.java.testing.table.ThreadSleepsNotMigrated;
+import org.openrewrite.java.tree.*;
+
+import java.util.*;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class ThreadSleepToAwaitility extends ScanningRecipe<AddDependency.Accumulator> {
+    private static final MethodMatcher THREAD_SLEEP = new MethodMatcher("java.lang.Thread sleep(..)");
+    private static final MethodMatcher THREAD_SLEEP_MILLIS = new MethodMatcher("java.lang.Thread sleep(long)");
+
+    /**
+     * Polled more often than Awaitility's default of 100 ms, so that short sleeps are checked more than once. The
+     * timeout is twice the sleep, as an effect landing just before the sleep ended would otherwise time out.
+     */
+    private static final long POLL_INTERVAL_MILLIS = 10;
+    private static final String AWAIT_TEMPLATE = "await().atMost(Duration.ofMillis(#{any(long)})).pollInterval(Duration.ofMillis(" +
+                                                 POLL_INTERVAL_MILLIS + ")).untilAsserted(() -> {\n})";
+    private static final String AWAIT_TWICE_TEMPLATE = "await().atMost(Duration.ofMillis(#{any(long)}).multipliedBy(2)).pollInterval(Duration.ofMillis(" +
+                                                       POLL_INTERVAL_MILLIS + ")).untilAsserted(() -> {\n})";
+
+    /**
+     * Checks that something did not happen. Polled with Awaitility, they pass on the first attempt, so the test would
+     * no longer wait before checking.
+     */
+    private static final Set<String> NEGATIVE_CHECKS = new HashSet<>(Arrays.asList(
+            "assertFalse", "assertNull", "assertNotEquals", "assertNotSame",
+            "verifyNoInteractions", "verifyNoMoreInteractions", "verifyZeroInteractions", "never",
+            "isFalse", "isNull", "isEmpty", "isZero", "isNotEqualTo", "isNotSameAs", "isNotPresent"));
+
+    /**
+     * Equality checks, which are negative checks when they compare with {@code 0}, {@code false} or {@code null}.
+     */
+    private static final Set<String> EQUALITY_CHECKS = new HashSet<>(Arrays.asList(
+            "assertEquals", "assertSame", "isEqualTo", "isSameAs", "times"));
+
+    private static final String[] AWAITILITY_STUBS = {
+            //language=java
+            "package org.awaitility;\n" +
+            "import org.awaitility.core.ConditionFactory;\n" +
+            "public class Awaitility {\n" +
+            "    public static native ConditionFactory await();\n" +
+            "}",
+            //language=java
+            "package org.awaitility.core;\n" +
+            "import java.time.Duration;\n" +
+            "public class ConditionFactory {\n" +
+            "    public native ConditionFactory atMost(Duration timeout);\n" +
+            "    public native ConditionFactory pollInterval(Duration pollInterval);\n" +
+            "    public native void untilAsserted(ThrowingRunnable assertion);\n" +
+            "}",
+            //language=java
+            "package org.awaitility.core;\n" +
+            "public interface ThrowingRunnable {\n" +
+            "    void run() throws Throwable;\n" +
+            "}"
+    };
+
+    transient ThreadSleepsNotMigrated threadSleepsNotMigrated = new ThreadSleepsNotMigrated(this);
+
+    @Override
+    public String getDisplayName() {
+        return "Replace `Thread.sleep` before assertions with Awaitility";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Replace a `Thread.sleep` in a test method that is followed by assertions with " +
+               "`await().atMost(..).pollInterval(..).untilAsserted(..)`, so that the test continues as soon as the " +
+               "assertions pass rather than always waiting for the full time. The assertions are given twice the time " +
+               "of the sleep. Adds the Awaitility dependency where needed. Sleeps that are shorter than the poll " +
+               "interval, are not directly followed by assertions, whose assertions check that something did not happen, or " +
+               "whose assertions use local variables that are not effectively final, are listed in a data table instead.";
+    }
+
+    @Override
+    public AddDependency.Accumulator getInitialValue(ExecutionContext ctx) {
+        return addAwaitilityDependency().getInitialValue(ctx);
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(AddDependency.Accumulator acc) {
+        return addAwaitilityDependency().getScanner(acc);
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(AddDependency.Accumulator acc) {
+        TreeVisitor<?, ExecutionContext> sleepVisitor = Preconditions.check(new IndexedUsesMethod(THREAD_SLEEP), new ThreadSleepVisitor());
+        TreeVisitor<?, ExecutionContext> addDependency = addAwaitilityDependency().getVisitor(acc);
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx, Cursor parent) {
+                if (!(tree instanceof SourceFile)) {
+                    return tree;
+                }
+                SourceFile s = (SourceFile) tree;
+                if (sleepVisitor.isAcceptable(s, ctx)) {
+                    s = (SourceFile) sleepVisitor.visitNonNull(s, ctx, parent);
+                }
+                if (addDependency.isAcceptable(s, ctx)) {
+                    s = (SourceFile) addDependency.visitNonNull(s, ctx, parent);
+                }
+                return s;
+            }
+        };
+    }
+
+    private static AddDependency addAwaitilityDependency() {
+        return new AddDependency("org.awaitility", "awaitility", "4.x", null,
+                "org.awaitility..*", null, null, null, null, null,
+                null, null, null, null);
+    }
+
+    private class ThreadSleepVisitor extends JavaIsoVisitor<ExecutionContext> {
+        @Override
+        public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+            // Test methods of nested classes are visited with their own reassigned variables
+            getCursor().putMessage("REASSIGNED_VARIABLES", Collections.emptySet());
+            return super.visitClassDeclaration(classDecl, ctx);
+        }
+
+        @Override
+        public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+            if (method.getBody() == null || !TestsShouldIncludeAssertions.methodIsTest(method)) {
+                return method;
+            }
+            getCursor().putMessage("REASSIGNED_VARIABLES", reassignedVariables(method.getBody()));
+            return super.visitMethodDeclaration(method, ctx);
+        }
+
+        @Override
+        public J.Block visitBlock(J.Block block, ExecutionContext ctx) {
+            J.Block b = super.visitBlock(block, ctx);
+            J.MethodDeclaration testMethod = getCursor().firstEnclosing(J.MethodDeclaration.class);
+            Set<String> reassignedVariables = getCursor().getNearestMessage("REASSIGNED_VARIABLES");
+            if (testMethod == null || reassignedVariables == null || getCursor().getParentTreeCursor().getValue() instanceof J.ClassDeclaration) {
+                return b;
+            }
+
+            List<Statement> statements = b.getStatements();
+            List<Statement> newStatements = new ArrayList<>(statements.size());
+            for (int i = 0; i < statements.size(); i++) {
+                Statement statement = statements.get(i);
+                if (!(statement instanceof J.MethodInvocation) || !THREAD_SLEEP.matches((J.MethodInvocation) statement)) {
+                    newStatements.add(statement);
+                    continue;
+                }
+                J.MethodInvocation sleep = (J.MethodInvocation) statement;
+                int end = i + 1;
+                while (end < statements.size() && statements.get(end) instanceof J.MethodInvocation &&
+                       TestsShouldIncludeAssertions.DEFAULT_ASSERTIONS_TRIE.matches((J.MethodInvocation) statements.get(end))) {
+                    end++;
+                }
+                List<Statement> assertions = statements.subList(i + 1, end);
+                String reason = unsafeReason(sleep, assertions, reassignedVariables);
+                if (reason != null) {
+                    threadSleepsNotMigrated.insertRow(ctx, new ThreadSleepsNotMigrated.Row(
+                            getCursor().firstEnclosingOrThrow(SourceFile.class).getSourcePath().toString(),
+                            testMethod.getSimpleName(),
+                            sleep.printTrimmed(getCursor()),
+                            reason));
+                    newStatements.add(statement);
+                    continue;
+                }
+                newStatements.add(awaitUntilAsserted(sleep, assertions, ctx));
+                i = end - 1;
+            }
+            return b.withStatements(newStatements);
+        }
+
+        private @Nullable String unsafeReason(J.MethodInvocation sleep, List<Statement> assertions, Set<String> reassignedVariables) {
+            if (!THREAD_SLEEP_MILLIS.matches(sleep)) {
+                return sleep.getArguments().size() == 1 ?
+                        "Sleeps with a `Duration` argument are not supported" :
+                        "Sleeps with a nanosecond argument are not supported";
+            }
+            Long millis = literalMillis(sleep.getArguments().get(0));
+            if (millis != null && millis < POLL_INTERVAL_MILLIS) {
+                return "Sleeps shorter than the " + POLL_INTERVAL_MILLIS + " ms poll interval are not supported";
+            }
+            if (assertions.isEmpty()) {
+                return "Not directly followed by an assertion";
+            }
+            Set<String> negativeChecks = new TreeSet<>();
+            for (Statement assertion : assertions) {
+                new JavaIsoVisitor<Set<String>>() {
+                    @Override
+                    public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Set<String> found) {
+                        if (isNegativeCheck(method)) {
+                            found.add(method.getSimpleName());
+                        }
+                        return super.visitMethodInvocation(method, found);
+                    }
+                }.visit(assertion, negativeChecks);
+            }
+            if (!negativeChecks.isEmpty()) {
+                return "Assertions check that something did not happen, which polling would accept right away: " +
+                       String.join(", ", negativeChecks);
+            }
+            Set<String> captured = new TreeSet<>();
+            for (Statement assertion : assertions) {
+                new JavaIsoVisitor<Set<String>>() {
+                    @Override
+                    public J.Identifier visitIdentifier(J.Identifier identifier, Set<String> found) {
+                        if (isLocalVariable(identifier) && reassignedVariables.contains(identifier.getSimpleName())) {
+                            found.add(identifier.getSimpleName());
+                        }
+                        return identifier;
+                    }
+                }.visit(assertion, captured);
+            }
+            if (!captured.isEmpty()) {
+                return "Assertions use local variables that are not effectively final: " + String.join(", ", captured);
+            }
+            return null;
+        }
+
+        private Statement awaitUntilAsserted(J.MethodInvocation sleep, List<Statement> assertions, ExecutionContext ctx) {
+            maybeAddImport("org.awaitility.Awaitility", "await", false);
+            maybeAddImport("java.time.Duration");
+            Expression sleepMillis = sleep.getArguments().get(0);
+            Long millis = literalMillis(sleepMillis);
+            J.MethodInvocation await = JavaTemplateCache.builder(millis == null ? AWAIT_TWICE_TEMPLATE : AWAIT_TEMPLATE)
+                    .staticImports("org.awaitility.Awaitility.await")
+                    .imports("java.time.Duration")
+                    .dependsOn(AWAITILITY_STUBS)
+                    .build(ctx)
+                    .apply(new Cursor(getCursor(), sleep), sleep.getCoordinates().replace(),
+                            millis == null ? sleepMillis : twice((J.Literal) sleepMillis, millis));
+            J.Lambda lambda = (J.Lambda) await.getArguments().get(0);
+            J body;
+            if (assertions.size() == 1) {
+                body = assertions.get(0).withPrefix(Space.SINGLE_SPACE);
+            } else {
+                body = ((J.Block) lambda.getBody()).withStatements(new ArrayList<>(assertions));
+            }
+            await = await.withArguments(Collections.singletonList(lambda.withBody(body)));
+            return autoFormat(await, ctx, getCursor());
+        }
+    }
+
+    private static @Nullable Long literalMillis(Expression millis) {
+        if (millis instanceof J.Literal && ((J.Literal) millis).getValue() instanceof Number) {
+            return ((Number) ((J.Literal) millis).getValue()).longValue();
+        }
+        return null;
+    }
+
+    private static J.Literal twice(J.Literal literal, long millis) {
+        long timeout = 2 * millis;
+        if (literal.getValue() instanceof Integer && timeout <= Integer.MAX_VALUE) {
+            return literal.withValue((int) timeout).withValueSource(String.valueOf(timeout));
+        }
+        return literal.withValue(timeout).withValueSource(timeout + "L").withType(JavaType.Primitive.Long);
+    }
+
+    private static boolean isNegativeCheck(J.MethodInvocation method) {
+        String name = method.getSimpleName();
+        if (NEGATIVE_CHECKS.contains(name) || name.startsWith("verifyNo") || name.startsWith("doesNot")) {
+            return true;
+        }
+        if (EQUALITY_CHECKS.contains(name)) {
+            for (Expression argument : method.getArguments()) {
+                if (isZeroFalseOrNull(argument)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZeroFalseOrNull(Expression expression) {
+        if (!(expression instanceof J.Literal)) {
+            return false;
+        }
+        Object value = ((J.Literal) expression).getValue();
+        return value == null || Boolean.FALSE.equals(value) ||
+               value instanceof Number && ((Number) value).doubleValue() == 0;
+    }
+
+    private static boolean isLocalVariable(J.Identifier identifier) {
+        JavaType.Variable fieldType = identifier.getFieldType();
+        return fieldType != null && fieldType.getOwner() instanceof JavaType.Method;
+    }
+
+    /**
+     * Local variables assigned anywhere in a test method. Most of them are not effectively final, so assertions using
+     * them are not moved into a lambda.
+     */
+    private static Set<String> reassignedVariables(J.Block body) {
+        Set<String> reassigned = new HashSet<>();
+        new JavaIsoVisitor<Set<String>>() {
+            @Override
+            public J.Assignment visitAssignment(J.Assignment assignment, Set<String> names) {
+                addIfLocal(assignment.getVariable(), names);
+                return super.visitAssignment(assignment, names);
+            }
+
+            @Override
+            public J.AssignmentOperation visitAssignmentOperation(J.AssignmentOperation assignOp, Set<String> names) {
+                addIfLocal(assignOp.getVariable(), names);
+                return super.visitAssignmentOperation(assignOp, names);
+            }
+
+            @Override
+            public J.Unary visitUnary(J.Unary unary, Set<String> names) {
+                J.Unary.Type operator = unary.getOperator();
+                if (operator == J.Unary.Type.PreIncrement || operator == J.Unary.Type.PreDecrement ||
+                    operator == J.Unary.Type.PostIncrement || operator == J.Unary.Type.PostDecrement) {
+                    addIfLocal(unary.getExpression(), names);
+                }
+                return super.visitUnary(unary, names);
+            }
+
+            private void addIfLocal(Expression variable, Set<String> names) {
+                if (variable instanceof J.Identifier && isLocalVariable((J.Identifier) variable)) {
+                    names.add(((J.Identifier) variable).getSimpleName());
+                }
+            }
+        }.visit(body, reassigned);
+        return reassigned;
+    }
+}
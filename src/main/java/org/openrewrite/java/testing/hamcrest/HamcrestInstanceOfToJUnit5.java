@@ -23,7 +23,7 @@ import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.testing.internal.IndexedUsesMethod;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 
@@ -48,10 +48,10 @@ public class HamcrestInstanceOfToJUnit5 extends Recipe {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         TreeVisitor<?, ExecutionContext> preconditions = Preconditions.and(
-                new UsesMethod<>(ASSERT_THAT_MATCHER),
+                new IndexedUsesMethod(ASSERT_THAT_MATCHER),
                 Preconditions.or(
-                        new UsesMethod<>(INSTANCE_OF_MATCHER),
-                        new UsesMethod<>(IS_A_MATCHER)));
+                        new IndexedUsesMethod(INSTANCE_OF_MATCHER),
+                        new IndexedUsesMethod(IS_A_MATCHER)));
         return Preconditions.check(preconditions, new JavaIsoVisitor<ExecutionContext>() {
             @Override
             public J.MethodInvocation visitMethodInvocation(J.MethodInvocation mi, ExecutionContext ctx) {
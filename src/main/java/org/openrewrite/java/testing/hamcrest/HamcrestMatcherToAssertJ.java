@@ -20,10 +20,11 @@ import lombok.NoArgsConstructor;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.testing.internal.IndexedUsesMethod;
+import org.openrewrite.java.testing.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
@@ -70,93 +71,100 @@ public class HamcrestMatcherToAssertJ extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesMethod<>("org.hamcrest.*Matchers " + matcher + "(..)"), new MigrateToAssertJVisitor());
+        return Preconditions.check(new IndexedUsesMethod("org.hamcrest.*Matchers " + matcher + "(..)"), new MigrateToAssertJVisitor());
     }
 
     private class MigrateToAssertJVisitor extends JavaIsoVisitor<ExecutionContext> {
-        private final MethodMatcher assertThatMatcher = new MethodMatcher("org.hamcrest.MatcherAssert assertThat(..)");
         private final MethodMatcher matchersMatcher = new MethodMatcher("org.hamcrest.*Matchers " + matcher + "(..)");
-        private final MethodMatcher subMatcher = new MethodMatcher("org.hamcrest.*Matchers *(org.hamcrest.Matcher)");
 
         @Override
         public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
             J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
-            if (assertThatMatcher.matches(mi)) {
-                return replace(mi, ctx);
+            if (ASSERT_THAT_MATCHER.matches(mi)) {
+                return replace(this, mi, matchersMatcher, matcher, assertion, argumentType, ctx);
             }
             return mi;
         }
+    }
 
-        private J.MethodInvocation replace(J.MethodInvocation mi, ExecutionContext ctx) {
-            List<Expression> mia = mi.getArguments();
-            Expression reasonArgument = mia.size() == 3 ? mia.get(0) : null;
-            Expression actualArgument = mia.get(mia.size() - 2);
-            Expression matcherArgument = mia.get(mia.size() - 1);
-            if (!matchersMatcher.matches(matcherArgument) || subMatcher.matches(matcherArgument)) {
-                return mi;
-            }
-            if (argumentType != null && !TypeUtils.isOfClassType(actualArgument.getType(), argumentType)) {
-                return mi;
-            }
+    private static final MethodMatcher ASSERT_THAT_MATCHER = new MethodMatcher("org.hamcrest.MatcherAssert assertThat(..)");
+    private static final MethodMatcher SUB_MATCHER = new MethodMatcher("org.hamcrest.*Matchers *(org.hamcrest.Matcher)");
+    private static final MethodMatcher CLOSE_TO_MATCHER = new MethodMatcher("org.hamcrest.Matchers closeTo(..)");
+
+    /**
+     * Replace a Hamcrest {@code assertThat(..)} using the given matcher with the equivalent AssertJ assertion.
+     *
+     * @return the AssertJ assertion, or the original method invocation if the matcher does not apply.
+     */
+    static J.MethodInvocation replace(JavaVisitor<ExecutionContext> visitor, J.MethodInvocation mi, MethodMatcher matchersMatcher,
+                                      @Nullable String matcher, @Nullable String assertion, @Nullable String argumentType,
+                                      ExecutionContext ctx) {
+        List<Expression> mia = mi.getArguments();
+        Expression reasonArgument = mia.size() == 3 ? mia.get(0) : null;
+        Expression actualArgument = mia.get(mia.size() - 2);
+        Expression matcherArgument = mia.get(mia.size() - 1);
+        if (!matchersMatcher.matches(matcherArgument) || SUB_MATCHER.matches(matcherArgument)) {
+            return mi;
+        }
+        if (argumentType != null && !TypeUtils.isOfClassType(actualArgument.getType(), argumentType)) {
+            return mi;
+        }
 
-            String actual = typeToIndicator(actualArgument.getType());
-            J.MethodInvocation matcherArgumentMethod = (J.MethodInvocation) matcherArgument;
-            JavaTemplate template = JavaTemplate.builder(String.format(
-                            "assertThat(%s)" +
-                            (reasonArgument != null ? ".as(#{any(String)})" : "") +
-                            ".%s(%s)",
-                            actual, assertion, getArgumentsTemplate(matcherArgumentMethod)))
-                    .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
-                    .staticImports(
-                            "org.assertj.core.api.Assertions.assertThat",
-                            "org.assertj.core.api.Assertions.within")
-                    .build();
-            maybeAddImport("org.assertj.core.api.Assertions", "assertThat");
-            maybeAddImport("org.assertj.core.api.Assertions", "within");
-            maybeRemoveImport("org.hamcrest.Matchers." + matcher);
-            maybeRemoveImport("org.hamcrest.CoreMatchers." + matcher);
-            maybeRemoveImport("org.hamcrest.MatcherAssert");
-            maybeRemoveImport("org.hamcrest.MatcherAssert.assertThat");
-
-            List<Expression> templateArguments = new ArrayList<>();
-            templateArguments.add(actualArgument);
-            if (reasonArgument != null) {
-                templateArguments.add(reasonArgument);
-            }
-            for (Expression originalArgument : matcherArgumentMethod.getArguments()) {
-                if (!(originalArgument instanceof J.Empty)) {
-                    templateArguments.add(originalArgument);
-                }
+        String actual = typeToIndicator(actualArgument.getType());
+        J.MethodInvocation matcherArgumentMethod = (J.MethodInvocation) matcherArgument;
+        JavaTemplate template = JavaTemplateCache.builder(String.format(
+                        "assertThat(%s)" +
+                        (reasonArgument != null ? ".as(#{any(String)})" : "") +
+                        ".%s(%s)",
+                        actual, assertion, getArgumentsTemplate(matcherArgumentMethod)))
+                .classpathFromResources("assertj-core-3.24")
+                .staticImports(
+                        "org.assertj.core.api.Assertions.assertThat",
+                        "org.assertj.core.api.Assertions.within")
+                .build(ctx);
+        visitor.maybeAddImport("org.assertj.core.api.Assertions", "assertThat");
+        visitor.maybeAddImport("org.assertj.core.api.Assertions", "within");
+        visitor.maybeRemoveImport("org.hamcrest.Matchers." + matcher);
+        visitor.maybeRemoveImport("org.hamcrest.CoreMatchers." + matcher);
+        visitor.maybeRemoveImport("org.hamcrest.MatcherAssert");
+        visitor.maybeRemoveImport("org.hamcrest.MatcherAssert.assertThat");
+
+        List<Expression> templateArguments = new ArrayList<>();
+        templateArguments.add(actualArgument);
+        if (reasonArgument != null) {
+            templateArguments.add(reasonArgument);
+        }
+        for (Expression originalArgument : matcherArgumentMethod.getArguments()) {
+            if (!(originalArgument instanceof J.Empty)) {
+                templateArguments.add(originalArgument);
             }
-            return template.apply(getCursor(), mi.getCoordinates().replace(), templateArguments.toArray());
         }
+        return template.apply(visitor.getCursor(), mi.getCoordinates().replace(), templateArguments.toArray());
+    }
 
-        private final MethodMatcher CLOSE_TO_MATCHER = new MethodMatcher("org.hamcrest.Matchers closeTo(..)");
-
-        private String getArgumentsTemplate(J.MethodInvocation matcherArgument) {
-            List<Expression> methodArguments = matcherArgument.getArguments();
-            if (CLOSE_TO_MATCHER.matches(matcherArgument)) {
-                return String.format("%s, within(%s)",
-                        typeToIndicator(methodArguments.get(0).getType()),
-                        typeToIndicator(methodArguments.get(1).getType()));
-            }
-            return methodArguments.stream()
-                    .filter(a -> !(a instanceof J.Empty))
-                    .map(a -> typeToIndicator(a.getType()))
-                    .collect(Collectors.joining(", "));
+    private static String getArgumentsTemplate(J.MethodInvocation matcherArgument) {
+        List<Expression> methodArguments = matcherArgument.getArguments();
+        if (CLOSE_TO_MATCHER.matches(matcherArgument)) {
+            return String.format("%s, within(%s)",
+                    typeToIndicator(methodArguments.get(0).getType()),
+                    typeToIndicator(methodArguments.get(1).getType()));
         }
+        return methodArguments.stream()
+                .filter(a -> !(a instanceof J.Empty))
+                .map(a -> typeToIndicator(a.getType()))
+                .collect(Collectors.joining(", "));
+    }
 
-        private String typeToIndicator(JavaType type) {
-            if (type instanceof JavaType.Array) {
-                type = ((JavaType.Array) type).getElemType();
-                String str = type instanceof JavaType.Primitive || type.toString().startsWith("java.") ?
-                        type.toString().replaceAll("<.*>", "") : "java.lang.Object";
-                return String.format("#{anyArray(%s)}", str);
-            } else {
-                String str = type instanceof JavaType.Primitive || type.toString().startsWith("java.") ?
-                        type.toString().replaceAll("<.*>", "") : "java.lang.Object";
-                return String.format("#{any(%s)}", str);
-            }
+    private static String typeToIndicator(JavaType type) {
+        if (type instanceof JavaType.Array) {
+            type = ((JavaType.Array) type).getElemType();
+            String str = type instanceof JavaType.Primitive || type.toString().startsWith("java.") ?
+                    type.toString().replaceAll("<.*>", "") : "java.lang.Object";
+            return String.format("#{anyArray(%s)}", str);
+        } else {
+            String str = type instanceof JavaType.Primitive || type.toString().startsWith("java.") ?
+                    type.toString().replaceAll("<.*>", "") : "java.lang.Object";
+            return String.format("#{any(%s)}", str);
         }
     }
 }
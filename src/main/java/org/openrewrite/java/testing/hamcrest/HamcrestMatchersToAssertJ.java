@@ -0,0 +1,232 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.hamcrest;
+
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.testing.internal.IndexedUsesMethod;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class HamcrestMatchersToAssertJ extends Recipe {
+
+    private static final MethodMatcher ASSERT_THAT_MATCHER = new MethodMatcher("org.hamcrest.MatcherAssert assertThat(..)");
+    private static final MethodMatcher IS_MATCHER = new MethodMatcher("org.hamcrest.*Matchers is(..)");
+
+    /**
+     * Replacements indexed by the simple name of the Hamcrest matcher, each list kept in declaration order
+     * so that the first applicable replacement wins, as it would when running the individual recipes in sequence.
+     */
+    private static final Map<String, List<Replacement>> MATCHERS = new HashMap<>();
+
+    /**
+     * Replacements for matchers wrapped in {@code not(Matcher)}, indexed by the simple name of the wrapped matcher.
+     */
+    private static final Map<String, List<Replacement>> NOT_MATCHERS = new HashMap<>();
+
+    static {
+        matcher("comparesEqualTo", "isEqualTo", "java.lang.String");
+        matcher("comparesEqualTo", "isEqualByComparingTo");
+        matcher("lessThan", "isBefore", "java.util.Date");
+        matcher("lessThanOrEqualTo", "isBeforeOrEqualTo", "java.util.Date");
+        matcher("greaterThan", "isAfter", "java.util.Date");
+        matcher("greaterThanOrEqualTo", "isAfterOrEqualTo", "java.util.Date");
+        matcher("lessThan", "isBefore", "java.time.Instant");
+        matcher("lessThanOrEqualTo", "isBeforeOrEqualTo", "java.time.Instant");
+        matcher("greaterThan", "isAfter", "java.time.Instant");
+        matcher("greaterThanOrEqualTo", "isAfterOrEqualTo", "java.time.Instant");
+        matcher("equalTo", "isEqualTo");
+        matcher("greaterThanOrEqualTo", "isGreaterThanOrEqualTo");
+        matcher("greaterThan", "isGreaterThan");
+        matcher("hasToString", "hasToString");
+        matcher("lessThanOrEqualTo", "isLessThanOrEqualTo");
+        matcher("lessThan", "isLessThan");
+        matcher("notNullValue", "isNotNull");
+        matcher("not", "isNotEqualTo");
+        matcher("nullValue", "isNull");
+        matcher("sameInstance", "isSameAs");
+        // Object Matchers
+        matcher("instanceOf", "isInstanceOf");
+        matcher("isA", "isInstanceOf");
+        // Array Matchers
+        matcher("arrayContaining", "containsExactly");
+        matcher("arrayContainingInAnyOrder", "containsExactlyInAnyOrder");
+        matcher("arrayWithSize", "hasSize");
+        matcher("emptyArray", "isEmpty");
+        matcher("hasItemInArray", "contains");
+        // String Matchers
+        matcher("blankString", "isBlank");
+        matcher("containsString", "contains");
+        matcher("containsStringIgnoringCase", "containsIgnoringCase");
+        matcher("emptyOrNullString", "isNullOrEmpty");
+        matcher("emptyString", "isEmpty");
+        matcher("endsWith", "endsWith");
+        matcher("endsWithIgnoringCase", "endsWithIgnoringCase");
+        matcher("equalToIgnoringCase", "isEqualToIgnoringCase");
+        matcher("equalToIgnoringWhiteSpace", "isEqualToIgnoringWhitespace");
+        matcher("hasLength", "hasSize");
+        matcher("isEmptyString", "isEmpty");
+        matcher("isEmptyOrNullString", "isNullOrEmpty");
+        matcher("matchesPattern", "matches");
+        matcher("matchesRegex", "matches");
+        matcher("startsWith", "startsWith");
+        matcher("startsWithIgnoringCase", "startsWithIgnoringCase");
+        // List Matchers
+        matcher("contains", "containsExactly");
+        matcher("containsInAnyOrder", "containsExactlyInAnyOrder");
+        matcher("empty", "isEmpty");
+        matcher("hasSize", "hasSize");
+        matcher("hasItem", "contains");
+        matcher("hasItems", "contains");
+        matcher("in", "isIn");
+        matcher("isIn", "isIn");
+        // Map Matchers
+        matcher("hasEntry", "containsEntry");
+        matcher("hasKey", "containsKey");
+        matcher("hasValue", "containsValue");
+        matcher("aMapWithSize", "hasSize");
+        matcher("anEmptyMap", "isEmpty");
+        // Number Matchers
+        matcher("closeTo", "isCloseTo");
+        // Matchers inverted through `not(Matcher)`
+        notMatcher("equalTo", "isNotEqualTo");
+        notMatcher("hasToString", "doesNotHaveToString");
+        notMatcher("in", "isNotIn");
+        notMatcher("isIn", "isNotIn");
+        notMatcher("instanceOf", "isNotInstanceOf");
+        notMatcher("nullValue", "isNotNull");
+        notMatcher("sameInstance", "isNotSameAs");
+        notMatcher("equalToIgnoringCase", "isNotEqualToIgnoringCase");
+        notMatcher("equalToIgnoringWhiteSpace", "isNotEqualToIgnoringWhitespace");
+        notMatcher("containsString", "doesNotContain");
+        notMatcher("containsStringIgnoringCase", "doesNotContainIgnoringCase");
+        notMatcher("startsWith", "doesNotStartWith");
+        notMatcher("endsWith", "doesNotEndWith");
+        notMatcher("matchesPattern", "doesNotMatch");
+        notMatcher("matchesRegex", "doesNotMatch");
+        notMatcher("blankString", "isNotBlank");
+        notMatcher("emptyString", "isNotEmpty");
+        notMatcher("hasItem", "doesNotContain");
+        notMatcher("hasItems", "doesNotContain");
+        notMatcher("empty", "isNotEmpty");
+    }
+
+    private static void matcher(String matcher, String assertion) {
+        matcher(matcher, assertion, null);
+    }
+
+    private static void matcher(String matcher, String assertion, @Nullable String argumentType) {
+        MATCHERS.computeIfAbsent(matcher, k -> new ArrayList<>()).add(new Replacement(matcher, assertion, argumentType));
+    }
+
+    private static void notMatcher(String notMatcher, String assertion) {
+        NOT_MATCHERS.computeIfAbsent(notMatcher, k -> new ArrayList<>()).add(new Replacement(notMatcher, assertion, null));
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Migrate Hamcrest `Matcher`s to AssertJ in a single pass";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Migrate Hamcrest `assertThat(..)` with `is(..)`, `not(..)` and other supported `Matcher`s to AssertJ assertions, " +
+               "looking up the replacement by matcher name in one traversal.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(new IndexedUsesMethod(ASSERT_THAT_MATCHER), new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
+                List<Expression> arguments = mi.getArguments();
+                if (arguments.size() < 2 || !(arguments.get(arguments.size() - 1) instanceof J.MethodInvocation) ||
+                    !ASSERT_THAT_MATCHER.matches(mi)) {
+                    return mi;
+                }
+
+                J.MethodInvocation matcherArgument = (J.MethodInvocation) arguments.get(arguments.size() - 1);
+                String matcherName = matcherArgument.getSimpleName();
+                if ("is".equals(matcherName)) {
+                    // Switch between one or the other depending on whether actual argument is an array or not
+                    String assertion = TypeUtils.asArray(arguments.get(arguments.size() - 2).getType()) != null ?
+                            "containsExactly" : "isEqualTo";
+                    return HamcrestMatcherToAssertJ.replace(this, mi, IS_MATCHER, "is", assertion, null, ctx);
+                }
+
+                if ("not".equals(matcherName) && !matcherArgument.getArguments().isEmpty() &&
+                    matcherArgument.getArguments().get(0) instanceof J.MethodInvocation) {
+                    String notMatcherName = ((J.MethodInvocation) matcherArgument.getArguments().get(0)).getSimpleName();
+                    for (Replacement replacement : NOT_MATCHERS.getOrDefault(notMatcherName, Collections.emptyList())) {
+                        J.MethodInvocation replaced = replacement.replaceNot(this, mi, ctx);
+                        if (replaced != mi) {
+                            return replaced;
+                        }
+                    }
+                }
+
+                for (Replacement replacement : MATCHERS.getOrDefault(matcherName, Collections.emptyList())) {
+                    J.MethodInvocation replaced = replacement.replace(this, mi, ctx);
+                    if (replaced != mi) {
+                        return replaced;
+                    }
+                }
+                return mi;
+            }
+        });
+    }
+
+    @Value
+    private static class Replacement {
+        String matcher;
+        String assertion;
+
+        @Nullable
+        String argumentType;
+
+        MethodMatcher matchersMatcher;
+
+        Replacement(String matcher, String assertion, @Nullable String argumentType) {
+            this.matcher = matcher;
+            this.assertion = assertion;
+            this.argumentType = argumentType;
+            this.matchersMatcher = new MethodMatcher("org.hamcrest.*Matchers " + matcher + "(..)");
+        }
+
+        J.MethodInvocation replace(JavaVisitor<ExecutionContext> visitor, J.MethodInvocation mi, ExecutionContext ctx) {
+            return HamcrestMatcherToAssertJ.replace(visitor, mi, matchersMatcher, matcher, assertion, argumentType, ctx);
+        }
+
+        J.MethodInvocation replaceNot(JavaVisitor<ExecutionContext> visitor, J.MethodInvocation mi, ExecutionContext ctx) {
+            return HamcrestNotMatcherToAssertJ.replace(visitor, mi, matchersMatcher, matcher, assertion, ctx);
+        }
+    }
+}
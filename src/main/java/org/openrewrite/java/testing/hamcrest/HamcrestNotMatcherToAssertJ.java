@@ -20,10 +20,11 @@ import lombok.NoArgsConstructor;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.testing.internal.IndexedUsesMethod;
+import org.openrewrite.java.testing.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
@@ -62,100 +63,116 @@ public class HamcrestNotMatcherToAssertJ extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesMethod<>("org.hamcrest.*Matchers " + notMatcher + "(..)"), new MigrateToAssertJVisitor());
+        return Preconditions.check(new IndexedUsesMethod("org.hamcrest.*Matchers " + notMatcher + "(..)"), new MigrateToAssertJVisitor());
     }
 
     private class MigrateToAssertJVisitor extends JavaIsoVisitor<ExecutionContext> {
-        private final MethodMatcher ASSERT_THAT_MATCHER = new MethodMatcher("org.hamcrest.MatcherAssert assertThat(..)");
-        private final MethodMatcher NOT_MATCHER = new MethodMatcher("org.hamcrest.*Matchers not(org.hamcrest.Matcher)");
         private final MethodMatcher MATCHERS_MATCHER = new MethodMatcher("org.hamcrest.*Matchers " + notMatcher + "(..)");
-        private final MethodMatcher SUB_MATCHER = new MethodMatcher("org.hamcrest.*Matchers *(org.hamcrest.Matcher)");
 
         @Override
         public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
             J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
             if (ASSERT_THAT_MATCHER.matches(mi)) {
-                Expression notMethodInvocation = mi.getArguments().get(mi.getArguments().size() - 1);
-                if (!NOT_MATCHER.matches(notMethodInvocation)) {
-                    return mi;
-                }
-                Expression matcherArgument = ((J.MethodInvocation) notMethodInvocation).getArguments().get(0);
-                if (mi.getArguments().size() == 2) {
-                    return handleTwoArgumentCase(mi, matcherArgument, ctx);
-                }
-                if (mi.getArguments().size() == 3) {
-                    return handleThreeArgumentCase(mi, matcherArgument, ctx);
-                }
+                return replace(this, mi, MATCHERS_MATCHER, notMatcher, assertion, ctx);
             }
             return mi;
         }
+    }
 
-        private J.MethodInvocation handleTwoArgumentCase(J.MethodInvocation mi, Expression matcherArgument, ExecutionContext ctx) {
-            Expression actualArgument = mi.getArguments().get(0);
-            if (!MATCHERS_MATCHER.matches(matcherArgument) || SUB_MATCHER.matches(matcherArgument)) {
-                return mi;
-            }
-            String actual = typeToIndicator(actualArgument.getType());
-            List<Expression> originalArguments = ((J.MethodInvocation) matcherArgument).getArguments().stream()
-                    .filter(a -> !(a instanceof J.Empty))
-                    .collect(Collectors.toList());
-            String argumentsTemplate = originalArguments.stream()
-                    .map(a -> typeToIndicator(a.getType()))
-                    .collect(Collectors.joining(", "));
-            JavaTemplate template = JavaTemplate.builder(String.format("assertThat(%s).%s(%s)",
-                            actual, assertion, argumentsTemplate))
-                    .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
-                    .staticImports("org.assertj.core.api.Assertions.assertThat")
-                    .build();
-            maybeAddImport("org.assertj.core.api.Assertions", "assertThat");
-            maybeRemoveImport("org.hamcrest.Matchers.not");
-            maybeRemoveImport("org.hamcrest.Matchers." + notMatcher);
-            maybeRemoveImport("org.hamcrest.CoreMatchers.not");
-            maybeRemoveImport("org.hamcrest.CoreMatchers." + notMatcher);
-            maybeRemoveImport("org.hamcrest.MatcherAssert");
-            maybeRemoveImport("org.hamcrest.MatcherAssert.assertThat");
-
-            List<Expression> templateArguments = new ArrayList<>();
-            templateArguments.add(actualArgument);
-            templateArguments.addAll(originalArguments);
-            return template.apply(getCursor(), mi.getCoordinates().replace(), templateArguments.toArray());
+    private static final MethodMatcher ASSERT_THAT_MATCHER = new MethodMatcher("org.hamcrest.MatcherAssert assertThat(..)");
+    private static final MethodMatcher NOT_MATCHER = new MethodMatcher("org.hamcrest.*Matchers not(org.hamcrest.Matcher)");
+    private static final MethodMatcher SUB_MATCHER = new MethodMatcher("org.hamcrest.*Matchers *(org.hamcrest.Matcher)");
+
+    /**
+     * Replace a Hamcrest {@code assertThat(..)} using {@code not(..)} around the given matcher with the equivalent AssertJ assertion.
+     *
+     * @return the AssertJ assertion, or the original method invocation if the matcher does not apply.
+     */
+    static J.MethodInvocation replace(JavaVisitor<ExecutionContext> visitor, J.MethodInvocation mi, MethodMatcher matchersMatcher,
+                                      @Nullable String notMatcher, @Nullable String assertion, ExecutionContext ctx) {
+        Expression notMethodInvocation = mi.getArguments().get(mi.getArguments().size() - 1);
+        if (!NOT_MATCHER.matches(notMethodInvocation)) {
+            return mi;
         }
+        Expression matcherArgument = ((J.MethodInvocation) notMethodInvocation).getArguments().get(0);
+        if (mi.getArguments().size() == 2) {
+            return handleTwoArgumentCase(visitor, mi, matcherArgument, matchersMatcher, notMatcher, assertion, ctx);
+        }
+        if (mi.getArguments().size() == 3) {
+            return handleThreeArgumentCase(visitor, mi, matcherArgument, matchersMatcher, notMatcher, assertion, ctx);
+        }
+        return mi;
+    }
 
-        private J.MethodInvocation handleThreeArgumentCase(J.MethodInvocation mi, Expression matcherArgument, ExecutionContext ctx) {
-            Expression reasonArgument = mi.getArguments().get(0);
-            Expression actualArgument = mi.getArguments().get(1);
-            if (!MATCHERS_MATCHER.matches(matcherArgument) || SUB_MATCHER.matches(matcherArgument)) {
-                return mi;
-            }
-            String actual = typeToIndicator(actualArgument.getType());
-            List<Expression> originalArguments = ((J.MethodInvocation) matcherArgument).getArguments().stream()
-                    .filter(a -> !(a instanceof J.Empty))
-                    .collect(Collectors.toList());
-            String argumentsTemplate = originalArguments.stream()
-                    .map(a -> typeToIndicator(a.getType()))
-                    .collect(Collectors.joining(", "));
-            JavaTemplate template = JavaTemplate.builder(String.format("assertThat(%s).as(#{any(String)}).%s(%s)",
-                            actual, assertion, argumentsTemplate))
-                    .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
-                    .staticImports("org.assertj.core.api.Assertions.assertThat")
-                    .build();
-            maybeAddImport("org.assertj.core.api.Assertions", "assertThat");
-            maybeRemoveImport("org.hamcrest.Matchers.not");
-            maybeRemoveImport("org.hamcrest.Matchers." + notMatcher);
-            maybeRemoveImport("org.hamcrest.MatcherAssert");
-            maybeRemoveImport("org.hamcrest.MatcherAssert.assertThat");
-
-            List<Expression> templateArguments = new ArrayList<>();
-            templateArguments.add(actualArgument);
-            templateArguments.add(reasonArgument);
-            templateArguments.addAll(originalArguments);
-            return template.apply(getCursor(), mi.getCoordinates().replace(), templateArguments.toArray());
+    private static J.MethodInvocation handleTwoArgumentCase(JavaVisitor<ExecutionContext> visitor, J.MethodInvocation mi,
+                                                            Expression matcherArgument, MethodMatcher matchersMatcher,
+                                                            @Nullable String notMatcher, @Nullable String assertion, ExecutionContext ctx) {
+        Expression actualArgument = mi.getArguments().get(0);
+        if (!matchersMatcher.matches(matcherArgument) || SUB_MATCHER.matches(matcherArgument)) {
+            return mi;
         }
+        String actual = typeToIndicator(actualArgument.getType());
+        List<Expression> originalArguments = ((J.MethodInvocation) matcherArgument).getArguments().stream()
+                .filter(a -> !(a instanceof J.Empty))
+                .collect(Collectors.toList());
+        String argumentsTemplate = originalArguments.stream()
+                .map(a -> typeToIndicator(a.getType()))
+                .collect(Collectors.joining(", "));
+        JavaTemplate template = JavaTemplateCache.builder(String.format("assertThat(%s).%s(%s)",
+                        actual, assertion, argumentsTemplate))
+                .classpathFromResources("assertj-core-3.24")
+                .staticImports("org.assertj.core.api.Assertions.assertThat")
+                .build(ctx);
+        visitor.maybeAddImport("org.assertj.core.api.Assertions", "assertThat");
+        visitor.maybeRemoveImport("org.hamcrest.Matchers.not");
+        visitor.maybeRemoveImport("org.hamcrest.Matchers." + notMatcher);
+        visitor.maybeRemoveImport("org.hamcrest.CoreMatchers.not");
+        visitor.maybeRemoveImport("org.hamcrest.CoreMatchers." + notMatcher);
+        visitor.maybeRemoveImport("org.hamcrest.MatcherAssert");
+        visitor.maybeRemoveImport("org.hamcrest.MatcherAssert.assertThat");
+
+        List<Expression> templateArguments = new ArrayList<>();
+        templateArguments.add(actualArgument);
+        templateArguments.addAll(originalArguments);
+        return template.apply(visitor.getCursor(), mi.getCoordinates().replace(), templateArguments.toArray());
+    }
 
-        private String typeToIndicator(JavaType type) {
-            String str = type instanceof JavaType.Primitive || type.toString().startsWith("java.") ?
-                    type.toString().replaceAll("<.*>", "") : "java.lang.Object";
-            return String.format("#{any(%s)}", str);
+    private static J.MethodInvocation handleThreeArgumentCase(JavaVisitor<ExecutionContext> visitor, J.MethodInvocation mi,
+                                                              Expression matcherArgument, MethodMatcher matchersMatcher,
+                                                              @Nullable String notMatcher, @Nullable String assertion, ExecutionContext ctx) {
+        Expression reasonArgument = mi.getArguments().get(0);
+        Expression actualArgument = mi.getArguments().get(1);
+        if (!matchersMatcher.matches(matcherArgument) || SUB_MATCHER.matches(matcherArgument)) {
+            return mi;
         }
+        String actual = typeToIndicator(actualArgument.getType());
+        List<Expression> originalArguments = ((J.MethodInvocation) matcherArgument).getArguments().stream()
+                .filter(a -> !(a instanceof J.Empty))
+                .collect(Collectors.toList());
+        String argumentsTemplate = originalArguments.stream()
+                .map(a -> typeToIndicator(a.getType()))
+                .collect(Collectors.joining(", "));
+        JavaTemplate template = JavaTemplateCache.builder(String.format("assertThat(%s).as(#{any(String)}).%s(%s)",
+                        actual, assertion, argumentsTemplate))
+                .classpathFromResources("assertj-core-3.24")
+                .staticImports("org.assertj.core.api.Assertions.assertThat")
+                .build(ctx);
+        visitor.maybeAddImport("org.assertj.core.api.Assertions", "assertThat");
+        visitor.maybeRemoveImport("org.hamcrest.Matchers.not");
+        visitor.maybeRemoveImport("org.hamcrest.Matchers." + notMatcher);
+        visitor.maybeRemoveImport("org.hamcrest.MatcherAssert");
+        visitor.maybeRemoveImport("org.hamcrest.MatcherAssert.assertThat");
+
+        List<Expression> templateArguments = new ArrayList<>();
+        templateArguments.add(actualArgument);
+        templateArguments.add(reasonArgument);
+        templateArguments.addAll(originalArguments);
+        return template.apply(visitor.getCursor(), mi.getCoordinates().replace(), templateArguments.toArray());
+    }
+
+    private static String typeToIndicator(JavaType type) {
+        String str = type instanceof JavaType.Primitive || type.toString().startsWith("java.") ?
+                type.toString().replaceAll("<.*>", "") : "java.lang.Object";
+        return String.format("#{any(%s)}", str);
     }
 }
@@ -23,7 +23,7 @@ import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.testing.internal.IndexedUsesMethod;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.TypeUtils;
@@ -50,8 +50,8 @@ public class HamcrestOfMatchersToAssertJ extends Recipe {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(Preconditions.or(
-                new UsesMethod<>(ANY_OF_MATCHER),
-                new UsesMethod<>(ALL_OF_MATCHER)
+                new IndexedUsesMethod(ANY_OF_MATCHER),
+                new IndexedUsesMethod(ALL_OF_MATCHER)
         ), new AnyOfToAssertJVisitor());
     }
 
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.ChangeType;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.RemoveImport;
+import org.openrewrite.java.tree.*;
+
+import java.util.*;
+
+/**
+ * Changes several types at once, like chaining a {@link ChangeType} per entry of the map, but in a single traversal.
+ * <p>
+ * References to the original types are renamed, including fully qualified references and the targets of static
+ * imports, and the type attribution of the source file is updated. Imports of the original types are removed, even
+ * unused ones, and the new types are imported where they are referenced.
+ */
+public class ChangeTypes extends JavaVisitor<ExecutionContext> {
+    private final Map<String, String> oldToNewFullyQualifiedTypeNames;
+    private final Map<String, JavaType.FullyQualified> newTypes = new HashMap<>();
+    private final Set<String> changedTypes = new HashSet<>();
+
+    public ChangeTypes(Map<String, String> oldToNewFullyQualifiedTypeNames) {
+        this.oldToNewFullyQualifiedTypeNames = oldToNewFullyQualifiedTypeNames;
+    }
+
+    @Override
+    public J preVisit(J tree, ExecutionContext ctx) {
+        if (tree instanceof JavaSourceFile) {
+            changedTypes.clear();
+        }
+        return tree;
+    }
+
+    @Override
+    public J postVisit(J tree, ExecutionContext ctx) {
+        // Still part of the traversal of the source file, so the import changes run right after it
+        if (tree instanceof JavaSourceFile) {
+            for (Map.Entry<String, String> oldToNew : oldToNewFullyQualifiedTypeNames.entrySet()) {
+                // Like ChangeType, imports of the original type go away even when they were unused
+                if (isImported((JavaSourceFile) tree, oldToNew.getKey())) {
+                    doAfterVisit(new RemoveImport<>(oldToNew.getKey(), true));
+                }
+                if (changedTypes.contains(oldToNew.getKey())) {
+                    maybeAddImport(oldToNew.getValue());
+                }
+            }
+        }
+        return tree;
+    }
+
+    @Override
+    public J visitImport(J.Import _import, ExecutionContext ctx) {
+        // Non-static imports are removed and added once the source file has been visited
+        if (!_import.isStatic()) {
+            return _import;
+        }
+        J.FieldAccess qualid = _import.getQualid();
+        if (!(qualid.getTarget() instanceof J.FieldAccess)) {
+            return _import;
+        }
+        JavaType.FullyQualified newType = newType(((J.FieldAccess) qualid.getTarget()).toString());
+        if (newType == null) {
+            return _import;
+        }
+        return _import.withQualid(qualid.withTarget(TypeTree.build(newType.getFullyQualifiedName())
+                .withType(newType)
+                .withPrefix(qualid.getTarget().getPrefix())));
+    }
+
+    @Override
+    public J visitFieldAccess(J.FieldAccess fieldAccess, ExecutionContext ctx) {
+        for (String oldType : oldToNewFullyQualifiedTypeNames.keySet()) {
+            if (fieldAccess.isFullyQualifiedClassReference(oldType)) {
+                JavaType.FullyQualified newType = Objects.requireNonNull(newType(oldType));
+                return TypeTree.build(newType.getFullyQualifiedName())
+                        .withType(newType)
+                        .withPrefix(fieldAccess.getPrefix());
+            }
+        }
+        return super.visitFieldAccess(fieldAccess, ctx);
+    }
+
+    @Override
+    public J visitIdentifier(J.Identifier ident, ExecutionContext ctx) {
+        J.Identifier i = (J.Identifier) super.visitIdentifier(ident, ctx);
+        JavaType.FullyQualified oldType = TypeUtils.asFullyQualified(ident.getType());
+        if (ident.getFieldType() == null && oldType != null && i.getType() != ident.getType() &&
+            ident.getSimpleName().equals(oldType.getClassName())) {
+            // A reference to the type itself rather than to a variable of that type
+            i = i.withSimpleName(Objects.requireNonNull(TypeUtils.asFullyQualified(i.getType())).getClassName());
+        }
+        return i;
+    }
+
+    @Override
+    public @Nullable JavaType visitType(@Nullable JavaType javaType, ExecutionContext ctx) {
+        return javaType == null ? null : changeType(javaType);
+    }
+
+    private JavaType changeType(JavaType type) {
+        if (type instanceof JavaType.Parameterized) {
+            JavaType.Parameterized parameterized = (JavaType.Parameterized) type;
+            JavaType.FullyQualified newType = newType(parameterized.getFullyQualifiedName());
+            return newType == null ? parameterized : parameterized.withType(newType);
+        } else if (type instanceof JavaType.FullyQualified) {
+            JavaType.FullyQualified newType = newType(((JavaType.FullyQualified) type).getFullyQualifiedName());
+            return newType == null ? type : newType;
+        } else if (type instanceof JavaType.Array) {
+            JavaType.Array array = (JavaType.Array) type;
+            return array.withElemType(changeType(array.getElemType()));
+        } else if (type instanceof JavaType.Method) {
+            JavaType.Method method = (JavaType.Method) type;
+            return method
+                    .withDeclaringType((JavaType.FullyQualified) changeType(method.getDeclaringType()))
+                    .withReturnType(changeType(method.getReturnType()))
+                    .withParameterTypes(ListUtils.map(method.getParameterTypes(), this::changeType))
+                    .withAnnotations(ListUtils.map(method.getAnnotations(), a -> (JavaType.FullyQualified) changeType(a)));
+        } else if (type instanceof JavaType.Variable) {
+            JavaType.Variable variable = (JavaType.Variable) type;
+            return variable
+                    .withOwner(variable.getOwner() == null ? null : changeType(variable.getOwner()))
+                    .withType(changeType(variable.getType()));
+        }
+        return type;
+    }
+
+    private static boolean isImported(JavaSourceFile sourceFile, String fullyQualifiedTypeName) {
+        for (J.Import anImport : sourceFile.getImports()) {
+            if (!anImport.isStatic() && anImport.getQualid().isFullyQualifiedClassReference(fullyQualifiedTypeName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private JavaType.@Nullable FullyQualified newType(String oldFullyQualifiedTypeName) {
+        String newFullyQualifiedTypeName = oldToNewFullyQualifiedTypeNames.get(oldFullyQualifiedTypeName);
+        if (newFullyQualifiedTypeName == null) {
+            return null;
+        }
+        changedTypes.add(oldFullyQualifiedTypeName);
+        return newTypes.computeIfAbsent(newFullyQualifiedTypeName, JavaType.ShallowClass::build);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Tree;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.marker.SearchResult;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link UsesMethod} precondition that answers from the {@link UsageIndex} of the source file.
+ */
+public class IndexedUsesMethod extends JavaIsoVisitor<ExecutionContext> {
+    private final @Nullable String methodPattern;
+    private final @Nullable MethodMatcher methodMatcher;
+    private final boolean matchOverrides;
+
+    public IndexedUsesMethod(String methodPattern) {
+        this(methodPattern, false);
+    }
+
+    public IndexedUsesMethod(String methodPattern, @Nullable Boolean matchOverrides) {
+        this.methodPattern = methodPattern;
+        this.methodMatcher = null;
+        this.matchOverrides = Boolean.TRUE.equals(matchOverrides);
+    }
+
+    public IndexedUsesMethod(MethodMatcher methodMatcher) {
+        this.methodPattern = null;
+        this.methodMatcher = methodMatcher;
+        this.matchOverrides = false;
+    }
+
+    @Override
+    public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
+        if (tree instanceof JavaSourceFile) {
+            JavaSourceFile sourceFile = (JavaSourceFile) tree;
+            UsageIndex index = UsageIndex.of(sourceFile, ctx);
+            boolean uses = methodMatcher != null ?
+                    index.usesMethod(methodMatcher) :
+                    index.usesMethod(requireNonNull(methodPattern), matchOverrides);
+            RecipeMetrics.recordPrecondition(uses);
+            if (uses) {
+                return SearchResult.found(sourceFile);
+            }
+        }
+        return (J) tree;
+    }
+}
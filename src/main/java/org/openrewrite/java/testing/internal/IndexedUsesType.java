@@ -0,0 +1,51 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Tree;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.marker.SearchResult;
+
+/**
+ * A {@link UsesType} precondition that answers from the {@link UsageIndex} of the source file.
+ */
+public class IndexedUsesType extends JavaIsoVisitor<ExecutionContext> {
+    private final String fullyQualifiedType;
+    private final boolean includeImplicit;
+
+    public IndexedUsesType(String fullyQualifiedType, @Nullable Boolean includeImplicit) {
+        this.fullyQualifiedType = fullyQualifiedType;
+        this.includeImplicit = Boolean.TRUE.equals(includeImplicit);
+    }
+
+    @Override
+    public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
+        if (tree instanceof JavaSourceFile) {
+            JavaSourceFile sourceFile = (JavaSourceFile) tree;
+            boolean uses = UsageIndex.of(sourceFile, ctx).usesType(fullyQualifiedType, includeImplicit);
+            RecipeMetrics.recordPrecondition(uses);
+            if (uses) {
+                return SearchResult.found(sourceFile);
+            }
+        }
+        return (J) tree;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaParser;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Shares {@link JavaParser.Builder} instances between all recipes and source files of a single recipe run, one per
+ * distinct set of classpath resources and thread.
+ * <p>
+ * Each builder resolves its jars from {@code META-INF/rewrite/classpath} once and keeps its type cache for the rest of
+ * the run. The type cache is not thread-safe, so the pool holds a builder per thread rather than one for the whole run.
+ * Callers get a copy of the pooled builder, so that any further configuration like {@code dependsOn} stays with the
+ * caller instead of leaking into every other recipe using the same classpath. The copy keeps the type cache of the
+ * thread it was obtained on, and must not be handed to other threads.
+ */
+public final class JavaParserPool {
+    private static final String POOL_KEY = JavaParserPool.class.getName();
+
+    private JavaParserPool() {
+    }
+
+    public static JavaParser.Builder<?, ?> fromResources(ExecutionContext ctx, String... artifactNamesWithVersions) {
+        ThreadLocal<Map<Set<String>, JavaParser.Builder<?, ?>>> pools = ctx.computeMessageIfAbsent(POOL_KEY,
+                k -> ThreadLocal.withInitial(HashMap::new));
+        return pools.get().computeIfAbsent(new TreeSet<>(Arrays.asList(artifactNamesWithVersions)), k -> {
+            JavaParser.Builder<?, ?> builder = JavaParser.fromJavaVersion();
+            if (artifactNamesWithVersions.length > 0) {
+                builder = builder.classpathFromResources(ctx, artifactNamesWithVersions);
+            }
+            return builder;
+        }).clone();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import lombok.Value;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shares built {@link JavaTemplate} instances between all recipes and source files visited on the same thread in a
+ * single recipe run.
+ * <p>
+ * Templates are keyed by their code, imports, parser classpath resources and stub sources. A template that is reused keeps its
+ * parser and the types it attributed while compiling its stub, so repeated matches do not pay for building the
+ * parser and resolving the classpath again. Parsers come from the {@link JavaParserPool}, and like the pool each thread
+ * gets its own cache, as a template keeps using the type cache of the parser it was built with.
+ */
+public final class JavaTemplateCache {
+    private static final String CACHE_KEY = JavaTemplateCache.class.getName();
+
+    private final Map<Key, JavaTemplate> templates = new HashMap<>();
+
+    private JavaTemplateCache() {
+    }
+
+    public static JavaTemplateCache get(ExecutionContext ctx) {
+        ThreadLocal<JavaTemplateCache> caches = ctx.computeMessageIfAbsent(CACHE_KEY,
+                k -> ThreadLocal.withInitial(JavaTemplateCache::new));
+        return caches.get();
+    }
+
+    public static Builder builder(String code) {
+        return new Builder(code);
+    }
+
+    private JavaTemplate computeIfAbsent(Key key, ExecutionContext ctx) {
+        JavaTemplate template = templates.get(key);
+        RecipeMetrics.recordCachedTemplateLookup(template != null);
+        if (template != null) {
+            return template;
+        }
+        return templates.computeIfAbsent(key, k -> k.toTemplate(ctx));
+    }
+
+    @Value
+    private static class Key {
+        String code;
+        List<String> imports;
+        List<String> staticImports;
+        List<String> classpathResources;
+        List<String> dependsOn;
+        boolean contextSensitive;
+
+        JavaTemplate toTemplate(ExecutionContext ctx) {
+            JavaParser.Builder<?, ?> parser = JavaParserPool.fromResources(ctx, classpathResources.toArray(new String[0]));
+            if (!dependsOn.isEmpty()) {
+                parser = parser.dependsOn(dependsOn.toArray(new String[0]));
+            }
+            JavaTemplate.Builder builder = JavaTemplate.builder(code)
+                    .imports(imports.toArray(new String[0]))
+                    .staticImports(staticImports.toArray(new String[0]))
+                    .javaParser(parser);
+            if (contextSensitive) {
+                builder = builder.contextSensitive();
+            }
+            return builder.build();
+        }
+    }
+
+    public static final class Builder {
+        private final String code;
+        private final List<String> imports = new ArrayList<>();
+        private final List<String> staticImports = new ArrayList<>();
+        private final List<String> classpathResources = new ArrayList<>();
+        private final List<String> dependsOn = new ArrayList<>();
+        private boolean contextSensitive;
+
+        private Builder(String code) {
+            this.code = code;
+        }
+
+        public Builder imports(String... fullyQualifiedTypeNames) {
+            Collections.addAll(imports, fullyQualifiedTypeNames);
+            return this;
+        }
+
+        public Builder staticImports(String... fullyQualifiedMemberTypeNames) {
+            Collections.addAll(staticImports, fullyQualifiedMemberTypeNames);
+            return this;
+        }
+
+        public Builder classpathFromResources(String... artifactNamesWithVersions) {
+            Collections.addAll(classpathResources, artifactNamesWithVersions);
+            return this;
+        }
+
+        public Builder dependsOn(String... inputs) {
+            Collections.addAll(dependsOn, inputs);
+            return this;
+        }
+
+        public Builder contextSensitive() {
+            this.contextSensitive = true;
+            return this;
+        }
+
+        public JavaTemplate build(ExecutionContext ctx) {
+            Key key = new Key(code, new ArrayList<>(imports), new ArrayList<>(staticImports),
+                    new ArrayList<>(classpathResources), new ArrayList<>(dependsOn), contextSensitive);
+            return get(ctx).computeIfAbsent(key, ctx);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import lombok.Getter;
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of a single recipe for the opt-in performance measurement of recipe runs.
+ * <p>
+ * A recipe visit in progress on the current thread is tracked in a thread local, so that shared infrastructure like
+ * {@link JavaTemplateCache}, {@link IndexedUsesType} and {@link IndexedUsesMethod} can attribute what it does to the
+ * recipe without any change to the recipes themselves. Outside a measured run the hooks do nothing.
+ */
+public final class RecipeMetrics {
+    private static final ThreadLocal<@Nullable Visit> CURRENT_VISIT = new ThreadLocal<>();
+
+    @Getter
+    private final String recipeName;
+
+    private final LongAdder wallTimeNanos = new LongAdder();
+    private final LongAdder sourceFilesVisited = new LongAdder();
+    private final LongAdder sourceFilesChanged = new LongAdder();
+    private final LongAdder cachedTemplateLookups = new LongAdder();
+    private final LongAdder cachedTemplateHits = new LongAdder();
+    private final LongAdder preconditionRejections = new LongAdder();
+
+    public RecipeMetrics(String recipeName) {
+        this.recipeName = recipeName;
+    }
+
+    /**
+     * @param hit Whether the template cache already held the template, rather than building it.
+     */
+    public static void recordCachedTemplateLookup(boolean hit) {
+        Visit visit = CURRENT_VISIT.get();
+        if (visit != null) {
+            visit.metrics.cachedTemplateLookups.increment();
+            if (hit) {
+                visit.metrics.cachedTemplateHits.increment();
+            }
+        }
+    }
+
+    public static void recordPrecondition(boolean matched) {
+        Visit visit = CURRENT_VISIT.get();
+        if (visit != null) {
+            visit.preconditionEvaluated = true;
+            visit.preconditionMatched |= matched;
+        }
+    }
+
+    /**
+     * Starts measuring a visit of one source file on the current thread. Visits of other recipes nested in it, like
+     * visitors scheduled with {@code doAfterVisit}, are attributed to this recipe.
+     */
+    public Visit startVisit() {
+        Visit visit = new Visit(this, CURRENT_VISIT.get());
+        CURRENT_VISIT.set(visit);
+        return visit;
+    }
+
+    public long getWallTimeMillis() {
+        return wallTimeNanos.sum() / 1_000_000;
+    }
+
+    public long getSourceFilesVisited() {
+        return sourceFilesVisited.sum();
+    }
+
+    public long getSourceFilesChanged() {
+        return sourceFilesChanged.sum();
+    }
+
+    public long getCachedTemplateLookups() {
+        return cachedTemplateLookups.sum();
+    }
+
+    public long getCachedTemplateHits() {
+        return cachedTemplateHits.sum();
+    }
+
+    public long getPreconditionRejections() {
+        return preconditionRejections.sum();
+    }
+
+    public static final class Visit {
+        private final RecipeMetrics metrics;
+        private final @Nullable Visit outer;
+        private final long start = System.nanoTime();
+        private boolean preconditionEvaluated;
+        private boolean preconditionMatched;
+
+        private Visit(RecipeMetrics metrics, @Nullable Visit outer) {
+            this.metrics = metrics;
+            this.outer = outer;
+        }
+
+        /**
+         * @param sourceFileVisit {@code false} for a scanning visit, which only adds to the wall time.
+         * @param changed         Whether the visit changed the source file.
+         */
+        public void end(boolean sourceFileVisit, boolean changed) {
+            metrics.wallTimeNanos.add(System.nanoTime() - start);
+            if (sourceFileVisit) {
+                metrics.sourceFilesVisited.increment();
+                if (changed) {
+                    metrics.sourceFilesChanged.increment();
+                }
+                if (preconditionEvaluated && !preconditionMatched) {
+                    metrics.preconditionRejections.increment();
+                }
+            }
+            if (outer == null) {
+                CURRENT_VISIT.remove();
+            } else {
+                CURRENT_VISIT.set(outer);
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.internal.StringUtils;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.Flag;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * The types and methods a single source file refers to, computed once per source file and shared by all
+ * preconditions of a recipe run through the {@link ExecutionContext}.
+ * <p>
+ * Answers exact type lookups and method lookups by name from hash sets, so that preconditions like
+ * {@link IndexedUsesType} and {@link IndexedUsesMethod} do not scan all types in use of a source file for every recipe
+ * they guard. A source file changed by a recipe is a different tree instance and gets a new index.
+ */
+public final class UsageIndex {
+    private static final String INDEXES_KEY = UsageIndex.class.getName();
+
+    /**
+     * A recipe run visits one source file with all recipes before moving on to the next, so only the indexes of the
+     * source files currently being visited are worth keeping. A few more leave room for concurrent runs sharing the
+     * {@link ExecutionContext}.
+     */
+    static final int MAX_CACHED_INDEXES = 64;
+
+    private final WeakReference<JavaSourceFile> sourceFile;
+
+    /**
+     * Fully qualified names of the types in use, with nested types separated by {@code .}.
+     */
+    private final Set<String> types = new HashSet<>();
+
+    /**
+     * Fully qualified names of the types in use as reported by the type attribution, nested types separated by {@code $}.
+     */
+    private final Set<String> typeNames = new HashSet<>();
+
+    private final Set<String> packages = new HashSet<>();
+    private final Map<String, List<JavaType.Method>> methodsByName = new HashMap<>();
+    private final List<JavaType.FullyQualified> typesInUse = new ArrayList<>();
+    private final Map<Object, Boolean> answers = new ConcurrentHashMap<>();
+
+    private @Nullable Set<String> assignableTypes;
+
+    private UsageIndex(JavaSourceFile sourceFile) {
+        this.sourceFile = new WeakReference<>(sourceFile);
+        for (JavaType.Method method : sourceFile.getTypesInUse().getUsedMethods()) {
+            methodsByName.computeIfAbsent(method.getName(), k -> new ArrayList<>()).add(method);
+            if (method.hasFlags(Flag.Static)) {
+                addType(method.getDeclaringType());
+            }
+        }
+        for (JavaType type : sourceFile.getTypesInUse().getTypesInUse()) {
+            addType(TypeUtils.asFullyQualified(type));
+        }
+        for (J.Import anImport : sourceFile.getImports()) {
+            addType(TypeUtils.asFullyQualified(anImport.isStatic() ?
+                    anImport.getQualid().getTarget().getType() :
+                    anImport.getQualid().getType()));
+        }
+    }
+
+    public static UsageIndex of(JavaSourceFile sourceFile, ExecutionContext ctx) {
+        IndexCache indexes = ctx.computeMessageIfAbsent(INDEXES_KEY, k -> new IndexCache());
+        synchronized (indexes) {
+            UsageIndex index = indexes.get(sourceFile.getId());
+            if (index != null && index.sourceFile.get() == sourceFile) {
+                return index;
+            }
+        }
+        // built outside the lock, a concurrent build of the same index only costs the duplicate work
+        UsageIndex index = new UsageIndex(sourceFile);
+        synchronized (indexes) {
+            indexes.put(sourceFile.getId(), index);
+        }
+        return index;
+    }
+
+    static int cachedIndexes(ExecutionContext ctx) {
+        IndexCache indexes = ctx.getMessage(INDEXES_KEY);
+        if (indexes == null) {
+            return 0;
+        }
+        synchronized (indexes) {
+            return indexes.size();
+        }
+    }
+
+    /**
+     * @param fullyQualifiedType A fully qualified type name or an AspectJ style type pattern such as {@code org.junit.*}.
+     * @param includeImplicit    Whether supertypes of the types in use count as used.
+     */
+    public boolean usesType(String fullyQualifiedType, boolean includeImplicit) {
+        if (!fullyQualifiedType.contains("*")) {
+            String name = fullyQualifiedType.replace('$', '.');
+            return types.contains(name) || (includeImplicit && getAssignableTypes().contains(name));
+        }
+        if (!includeImplicit && fullyQualifiedType.endsWith(".*") &&
+            fullyQualifiedType.indexOf('*') == fullyQualifiedType.length() - 1 &&
+            !fullyQualifiedType.endsWith("..*")) {
+            return packages.contains(fullyQualifiedType.substring(0, fullyQualifiedType.length() - 2));
+        }
+        return answers.computeIfAbsent(Arrays.asList(fullyQualifiedType, includeImplicit), k -> {
+            Pattern pattern = Pattern.compile(StringUtils.aspectjNameToPattern(fullyQualifiedType));
+            for (String typeName : includeImplicit ? getAssignableTypes() : typeNames) {
+                if (pattern.matcher(typeName).matches()) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * @param methodPattern A method pattern as accepted by {@link MethodMatcher}.
+     */
+    public boolean usesMethod(String methodPattern, boolean matchOverrides) {
+        return answers.computeIfAbsent(Arrays.asList(methodPattern, matchOverrides),
+                k -> usesMethod(new MethodMatcher(methodPattern, matchOverrides), methodName(methodPattern)));
+    }
+
+    public boolean usesMethod(MethodMatcher methodMatcher) {
+        return answers.computeIfAbsent(methodMatcher, k -> usesMethod(methodMatcher, null));
+    }
+
+    private boolean usesMethod(MethodMatcher methodMatcher, @Nullable String methodName) {
+        Collection<List<JavaType.Method>> candidates = methodName == null ?
+                methodsByName.values() :
+                Collections.singletonList(methodsByName.getOrDefault(methodName, Collections.emptyList()));
+        for (List<JavaType.Method> methods : candidates) {
+            for (JavaType.Method method : methods) {
+                if (methodMatcher.matches(method)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private synchronized Set<String> getAssignableTypes() {
+        if (assignableTypes == null) {
+            Set<String> names = new HashSet<>();
+            for (JavaType.FullyQualified type : typesInUse) {
+                addSupertypes(type, names);
+            }
+            assignableTypes = names;
+        }
+        return assignableTypes;
+    }
+
+    private void addType(JavaType.@Nullable FullyQualified type) {
+        if (type == null || type instanceof JavaType.Unknown) {
+            return;
+        }
+        String name = type.getFullyQualifiedName();
+        if (typeNames.add(name)) {
+            types.add(name.replace('$', '.'));
+            int lastDot = name.lastIndexOf('.');
+            if (lastDot > 0) {
+                packages.add(name.substring(0, lastDot));
+            }
+            typesInUse.add(type);
+        }
+    }
+
+    private static void addSupertypes(JavaType.@Nullable FullyQualified type, Set<String> names) {
+        if (type == null || type instanceof JavaType.Unknown) {
+            return;
+        }
+        String name = type.getFullyQualifiedName();
+        // Both spellings, so that exact names and patterns can look them up
+        if (names.add(name)) {
+            names.add(name.replace('$', '.'));
+            addSupertypes(type.getSupertype(), names);
+            for (JavaType.FullyQualified anInterface : type.getInterfaces()) {
+                addSupertypes(anInterface, names);
+            }
+        }
+    }
+
+    /**
+     * The method name of a pattern like {@code org.junit.Assert assertEquals(..)}, or {@code null} if it is a wildcard.
+     */
+    private static @Nullable String methodName(String methodPattern) {
+        int openParen = methodPattern.indexOf('(');
+        if (openParen < 0) {
+            return null;
+        }
+        int start = Math.max(methodPattern.lastIndexOf(' ', openParen), methodPattern.lastIndexOf('#', openParen)) + 1;
+        String name = methodPattern.substring(start, openParen).trim();
+        return name.isEmpty() || name.contains("*") ? null : name;
+    }
+
+    private static class IndexCache extends LinkedHashMap<UUID, UsageIndex> {
+        IndexCache() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, UsageIndex> eldest) {
+            return size() > MAX_CACHED_INDEXES;
+        }
+    }
+}
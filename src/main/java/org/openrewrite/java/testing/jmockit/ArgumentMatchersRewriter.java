@@ -20,6 +20,7 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.testing.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import java.util.*;
@@ -165,10 +166,10 @@ class ArgumentMatchersRewriter {
     private Expression applyArgumentTemplate(Expression methodArgument, String argumentMatcher, String template,
             List<Object> templateParams) {
         visitor.maybeAddImport("org.mockito.Mockito", argumentMatcher);
-        return JavaTemplate.builder(template)
-                .javaParser(JMockitUtils.getJavaParser(ctx))
+        return JavaTemplateCache.builder(template)
+                .classpathFromResources(JMockitUtils.MOCKITO_CLASSPATH_RESOURCE)
                 .staticImports("org.mockito.Mockito." + argumentMatcher)
-                .build()
+                .build(ctx)
                 .apply(
                         new Cursor(visitor.getCursor(), methodArgument),
                         methodArgument.getCoordinates().replace(),
@@ -24,7 +24,7 @@ import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.search.FindAnnotations;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.Statement;
 
@@ -49,8 +49,8 @@ public class JMockitAnnotatedArgumentToMockito extends Recipe {
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(
                 Preconditions.or(
-                        new UsesType<>("mockit.Mocked", false),
-                        new UsesType<>("mockit.Injectable", false)
+                        new IndexedUsesType("mockit.Mocked", false),
+                        new IndexedUsesType("mockit.Injectable", false)
                 ),
                 new JavaIsoVisitor<ExecutionContext>() {
                     @Override
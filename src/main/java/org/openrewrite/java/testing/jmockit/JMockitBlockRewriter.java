@@ -17,21 +17,22 @@ package org.openrewrite.java.testing.jmockit;
 
 import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.Setter;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.Cursor;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.testing.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.openrewrite.java.testing.jmockit.JMockitBlockType.*;
 import static org.openrewrite.java.testing.jmockit.JMockitUtils.MOCKITO_ALL_IMPORT;
-import static org.openrewrite.java.testing.jmockit.JMockitUtils.getJavaParser;
+import static org.openrewrite.java.testing.jmockit.JMockitUtils.MOCKITO_CLASSPATH_RESOURCE;
 
 class JMockitBlockRewriter {
 
@@ -57,9 +58,11 @@ class JMockitBlockRewriter {
     private final J.NewClass newExpectations;
     private final JMockitBlockType blockType;
     private final int verificationsInOrderIdx;
-    // index of the Expectations block in the method body
-    private final int bodyStatementIndex;
-    private J.Block methodBody;
+    // the JMockit block is rewritten in a copy of the method body holding only that block, so that the statements
+    // written in its place can be spliced into the method body together with those of the other blocks
+    private J.Block blockBody;
+    // verify statements of Expectations blocks, which go to the end of the method body
+    private J.Block trailingBody;
     private JavaCoordinates nextStatementCoordinates;
 
     private boolean rewriteFailed = false;
@@ -68,23 +71,44 @@ class JMockitBlockRewriter {
         return rewriteFailed;
     }
 
-    // keep track of the additional statements being added to the method body, which impacts the statement indices
-    // used with bodyStatementIndex to obtain the coordinates of the next statement to be written
+    // keep track of the statements written in place of the JMockit block, which are used to obtain the coordinates of
+    // the next statement to be written
     private int numStatementsAdded = 0;
 
+    // the statements of the block are first collected into one template written at once, falling back to a template
+    // per statement when the block cannot be written that way
+    private boolean batchTemplates = true;
+    private final StatementsTemplate blockTemplate = new StatementsTemplate();
+    private final StatementsTemplate trailingTemplate = new StatementsTemplate();
+    private final List<Runnable> pendingImports = new ArrayList<>();
+
     JMockitBlockRewriter(JavaVisitor<ExecutionContext> visitor, ExecutionContext ctx, J.Block methodBody,
-                         J.NewClass newExpectations, int bodyStatementIndex, JMockitBlockType blockType, int verificationsInOrderIdx) {
+                         J.NewClass newExpectations, JMockitBlockType blockType, int verificationsInOrderIdx) {
         this.visitor = visitor;
         this.ctx = ctx;
-        this.methodBody = methodBody;
+        this.blockBody = methodBody.withStatements(Collections.singletonList(newExpectations));
+        this.trailingBody = methodBody.withStatements(Collections.emptyList());
         this.newExpectations = newExpectations;
-        this.bodyStatementIndex = bodyStatementIndex;
         this.blockType = blockType;
         this.verificationsInOrderIdx = verificationsInOrderIdx;
         this.nextStatementCoordinates = newExpectations.getCoordinates().replace();
     }
 
-    J.Block rewriteMethodBody() {
+    /**
+     * @return the statements replacing the JMockit block in the method body.
+     */
+    List<Statement> getStatements() {
+        return blockBody.getStatements();
+    }
+
+    /**
+     * @return the statements to add to the end of the method body.
+     */
+    List<Statement> getTrailingStatements() {
+        return trailingBody.getStatements();
+    }
+
+    void rewriteBlock() {
         visitor.maybeRemoveImport(blockType.getFqn()); // eg mockit.Expectations
 
         assert newExpectations.getBody() != null;
@@ -92,7 +116,7 @@ class JMockitBlockRewriter {
         if (jmockitBlock.getStatements().isEmpty()) {
             // empty Expectations block, remove it
             removeBlock();
-            return methodBody;
+            return;
         }
 
         // rewrite the argument matchers in the expectations block
@@ -127,12 +151,21 @@ class JMockitBlockRewriter {
             }
         }
 
-        // remove the jmockit block
-        if (nextStatementCoordinates.isReplacement()) {
-            removeBlock();
+        List<Object> mocks = new ArrayList<>(uniqueMocks);
+        rewriteStatements(methodInvocationsToRewrite, mocks);
+        if (!rewriteFailed && writeStatementsTemplates()) {
+            pendingImports.forEach(Runnable::run);
+            return;
         }
 
-        List<Object> mocks = new ArrayList<>(uniqueMocks);
+        // fall back to writing the statements one template at a time
+        batchTemplates = false;
+        rewriteFailed = false;
+        removeBlock();
+        rewriteStatements(methodInvocationsToRewrite, mocks);
+    }
+
+    private void rewriteStatements(List<List<Statement>> methodInvocationsToRewrite, List<Object> mocks) {
         if (isVerificationsInOrder()) {
             rewriteInOrderVerify(mocks);
         }
@@ -143,7 +176,6 @@ class JMockitBlockRewriter {
         if (isFullVerifications()) {
             rewriteFullVerify(mocks);
         }
-        return methodBody;
     }
 
     private boolean isFullVerifications() {
@@ -185,10 +217,9 @@ class JMockitBlockRewriter {
     }
 
     private void removeBlock() {
-        methodBody = JavaTemplate.builder("")
-                .javaParser(JavaParser.fromJavaVersion())
-                .build()
-                .apply(new Cursor(visitor.getCursor(), methodBody), nextStatementCoordinates);
+        blockBody = JavaTemplateCache.builder("")
+                .build(ctx)
+                .apply(new Cursor(visitor.getCursor(), blockBody), nextStatementCoordinates);
         setNextStatementCoordinates(0);
     }
 
@@ -204,17 +235,16 @@ class JMockitBlockRewriter {
         List<Object> templateParams = new ArrayList<>();
         templateParams.add(invocation);
         templateParams.addAll(results);
-        rewriteTemplate(template, templateParams, nextStatementCoordinates);
+        writeStatement(template, templateParams, false);
         if (this.rewriteFailed) {
             return;
         }
 
-        setNextStatementCoordinates(++numStatementsAdded);
         // do this last making sure rewrite worked and specify onlyifReferenced=false because framework cannot find static
         // reference for when method invocation when another static mockit reference is added
-        visitor.maybeAddImport(MOCKITO_IMPORT_FQN_PREFX, "when", false);
+        maybeAddImport(() -> visitor.maybeAddImport(MOCKITO_IMPORT_FQN_PREFX, "when", false));
         if (lenient) {
-            visitor.maybeAddImport(MOCKITO_IMPORT_FQN_PREFX, "lenient");
+            maybeAddImport(() -> visitor.maybeAddImport(MOCKITO_IMPORT_FQN_PREFX, "lenient"));
         }
     }
 
@@ -231,34 +261,23 @@ class JMockitBlockRewriter {
         }
         templateParams.add(invocation.getName().getSimpleName());
         String verifyTemplate = getVerifyTemplate(invocation.getArguments(), verificationMode, templateParams);
-        JavaCoordinates verifyCoordinates;
-        if (this.blockType.isVerifications()) {
-            // for Verifications, replace the Verifications block
-            verifyCoordinates = nextStatementCoordinates;
-        } else {
-            // for Expectations put verify at the end of the method
-            verifyCoordinates = methodBody.getCoordinates().lastStatement();
-        }
-        rewriteTemplate(verifyTemplate, templateParams, verifyCoordinates);
+        // for Verifications, replace the Verifications block, for Expectations put verify at the end of the method
+        writeStatement(verifyTemplate, templateParams, !this.blockType.isVerifications());
         if (this.rewriteFailed) {
             return;
         }
 
-        if (this.blockType.isVerifications()) {
-            setNextStatementCoordinates(++numStatementsAdded); // for Expectations, verify statements added to end of method
-        }
-
         // do this last making sure rewrite worked and specify onlyifReferenced=false because framework cannot find the
         // static reference to verify when another static mockit reference is added
-        visitor.maybeAddImport(MOCKITO_IMPORT_FQN_PREFX, "verify", false);
+        maybeAddImport(() -> visitor.maybeAddImport(MOCKITO_IMPORT_FQN_PREFX, "verify", false));
         if (!verificationMode.isEmpty()) {
-            visitor.maybeAddImport(MOCKITO_IMPORT_FQN_PREFX, verificationMode);
+            maybeAddImport(() -> visitor.maybeAddImport(MOCKITO_IMPORT_FQN_PREFX, verificationMode));
         }
     }
 
     private void rewriteFullVerify(List<Object> mocks) {
         if (rewriteMultipleMocks(mocks, VERIFY_NO_INTERACTIONS_TEMPLATE_PREFIX)) { // verifyNoMoreInteractions(mock1, mock2 ...
-            visitor.maybeAddImport(MOCKITO_IMPORT_FQN_PREFX, "verifyNoMoreInteractions", false);
+            maybeAddImport(() -> visitor.maybeAddImport(MOCKITO_IMPORT_FQN_PREFX, "verifyNoMoreInteractions", false));
         }
     }
 
@@ -269,8 +288,10 @@ class JMockitBlockRewriter {
         }
         sb.append(VERIFY_IN_ORDER_TEMPLATE_PREFIX_2); // InOrder inOrder1 = inOrder(
         if (rewriteMultipleMocks(mocks, sb.toString())) { // InOrder inOrder = inOrder(mock1, mock2 ..)
-            visitor.maybeAddImport(MOCKITO_IMPORT_FQN_PREFX, "inOrder", false);
-            visitor.maybeAddImport(IN_ORDER_IMPORT_FQN);
+            maybeAddImport(() -> {
+                visitor.maybeAddImport(MOCKITO_IMPORT_FQN_PREFX, "inOrder", false);
+                visitor.maybeAddImport(IN_ORDER_IMPORT_FQN);
+            });
         }
     }
 
@@ -282,40 +303,86 @@ class JMockitBlockRewriter {
         mocks.forEach(mock -> sb.append(ANY_TEMPLATE_FIELD).append(", "));
         sb.delete(sb.length() - 2, sb.length());
         sb.append(");");
-        rewriteTemplate(sb.toString(), mocks, nextStatementCoordinates);
-        if (!this.rewriteFailed) {
-            setNextStatementCoordinates(++numStatementsAdded);
-        }
+        writeStatement(sb.toString(), mocks, false);
         return !this.rewriteFailed;
     }
 
     private void setNextStatementCoordinates(int numStatementsAdded) {
-        if (numStatementsAdded <= 0 && bodyStatementIndex == 0) {
-            nextStatementCoordinates = methodBody.getCoordinates().firstStatement();
+        if (numStatementsAdded <= 0) {
+            nextStatementCoordinates = blockBody.getCoordinates().firstStatement();
             return;
         }
 
-        // the next statement coordinates are directly after the most recently written statement, calculated by
-        // subtracting the removed jmockit block
-        int lastStatementIdx = bodyStatementIndex + numStatementsAdded - 1;
-        if (lastStatementIdx >= this.methodBody.getStatements().size()) {
+        // the next statement coordinates are directly after the most recently written statement
+        int lastStatementIdx = numStatementsAdded - 1;
+        if (lastStatementIdx >= this.blockBody.getStatements().size()) {
             this.rewriteFailed = true;
             return;
         }
 
-        this.nextStatementCoordinates = this.methodBody.getStatements().get(lastStatementIdx).getCoordinates().after();
+        this.nextStatementCoordinates = this.blockBody.getStatements().get(lastStatementIdx).getCoordinates().after();
     }
 
-    private void rewriteTemplate(String template, List<Object> templateParams, JavaCoordinates
+    private void writeStatement(String template, List<Object> templateParams, boolean trailing) {
+        if (batchTemplates) {
+            (trailing ? trailingTemplate : blockTemplate).add(template, templateParams);
+        } else if (trailing) {
+            trailingBody = rewriteTemplate(trailingBody, template, templateParams, trailingBody.getCoordinates().lastStatement());
+        } else {
+            blockBody = rewriteTemplate(blockBody, template, templateParams, nextStatementCoordinates);
+            if (!this.rewriteFailed) {
+                setNextStatementCoordinates(++numStatementsAdded);
+            }
+        }
+    }
+
+    private void maybeAddImport(Runnable addImport) {
+        if (batchTemplates) {
+            pendingImports.add(addImport);
+        } else {
+            addImport.run();
+        }
+    }
+
+    /**
+     * Write the statements collected for the block in place of the block, and those collected for the end of the
+     * method, each with a single template.
+     *
+     * @return whether both templates produced all of their statements.
+     */
+    private boolean writeStatementsTemplates() {
+        J.Block emptyBlockBody = blockBody.withStatements(Collections.emptyList());
+        J.Block rewrittenBlockBody = blockTemplate.getNumStatements() == 0 ? emptyBlockBody :
+                applyTemplate(emptyBlockBody, blockTemplate.getTemplate(), blockTemplate.getParams(),
+                        emptyBlockBody.getCoordinates().firstStatement());
+        J.Block rewrittenTrailingBody = trailingTemplate.getNumStatements() == 0 ? trailingBody :
+                applyTemplate(trailingBody, trailingTemplate.getTemplate(), trailingTemplate.getParams(),
+                        trailingBody.getCoordinates().lastStatement());
+        if (rewrittenBlockBody.getStatements().size() != blockTemplate.getNumStatements() ||
+            rewrittenTrailingBody.getStatements().size() != trailingBody.getStatements().size() + trailingTemplate.getNumStatements()) {
+            return false;
+        }
+        blockBody = rewrittenBlockBody;
+        trailingBody = rewrittenTrailingBody;
+        return true;
+    }
+
+    private J.Block rewriteTemplate(J.Block body, String template, List<Object> templateParams, JavaCoordinates
             rewriteCoords) {
-        int numStatementsBefore = methodBody.getStatements().size();
-        methodBody = JavaTemplate.builder(template)
-                .javaParser(getJavaParser(ctx))
+        int numStatementsBefore = body.getStatements().size();
+        J.Block rewrittenBody = applyTemplate(body, template, templateParams, rewriteCoords);
+        this.rewriteFailed = rewrittenBody.getStatements().size() <= numStatementsBefore;
+        return rewrittenBody;
+    }
+
+    private J.Block applyTemplate(J.Block body, String template, List<Object> templateParams, JavaCoordinates
+            rewriteCoords) {
+        return JavaTemplateCache.builder(template)
+                .classpathFromResources(MOCKITO_CLASSPATH_RESOURCE)
                 .staticImports(MOCKITO_ALL_IMPORT)
                 .imports(IN_ORDER_IMPORT_FQN)
-                .build()
-                .apply(new Cursor(visitor.getCursor(), methodBody), rewriteCoords, templateParams.toArray());
-        this.rewriteFailed = methodBody.getStatements().size() <= numStatementsBefore;
+                .build(ctx)
+                .apply(new Cursor(visitor.getCursor(), body), rewriteCoords, templateParams.toArray());
     }
 
     private @Nullable String getWhenTemplate(List<Expression> results, boolean lenient) {
@@ -482,6 +549,29 @@ class JMockitBlockRewriter {
         }
     }
 
+    /**
+     * Mockito statements collected into a single template, with the parameters of all of them in order.
+     */
+    private static class StatementsTemplate {
+        private final StringBuilder template = new StringBuilder();
+        @Getter
+        private final List<Object> params = new ArrayList<>();
+        @Getter
+        private int numStatements;
+
+        private void add(String statementTemplate, List<Object> statementParams) {
+            if (numStatements++ > 0) {
+                template.append('\n');
+            }
+            template.append(statementTemplate);
+            params.addAll(statementParams);
+        }
+
+        String getTemplate() {
+            return template.toString();
+        }
+    }
+
     @Data
     private static class MockInvocationResults {
         @Setter(AccessLevel.NONE)
@@ -22,10 +22,11 @@ import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.Statement;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -51,8 +52,9 @@ public class JMockitBlockToMockito extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        @SuppressWarnings("rawtypes")
-        UsesType[] usesTypes = Arrays.stream(values()).map(blockType -> new UsesType<>(blockType.getFqn(), false)).toArray(UsesType[]::new);
+        TreeVisitor<?, ExecutionContext>[] usesTypes = Arrays.stream(values())
+                .map(blockType -> new IndexedUsesType(blockType.getFqn(), false))
+                .toArray(IndexedUsesType[]::new);
         return Preconditions.check(Preconditions.or(usesTypes), new RewriteJMockitBlockVisitor());
     }
 
@@ -67,33 +69,30 @@ public class JMockitBlockToMockito extends Recipe {
             // rewrite the statements that are not mock expectations or verifications
             SetupStatementsRewriter ssr = new SetupStatementsRewriter(this, md.getBody());
             J.Block methodBody = ssr.rewriteMethodBody();
-            List<Statement> statements = methodBody.getStatements();
 
+            // plan the rewrite of every JMockit block first, then write the statements replacing them and those to
+            // add to the end of the method into the method body at once
+            List<Statement> statements = new ArrayList<>(methodBody.getStatements().size());
+            List<Statement> trailingStatements = new ArrayList<>();
             int verificationsInOrderIdx = 0;
-            int bodyStatementIndex = 0;
-            // iterate over each statement in the method body, find JMockit blocks and rewrite them
-            while (bodyStatementIndex < statements.size()) {
-                Statement s = statements.get(bodyStatementIndex);
+            for (Statement s : methodBody.getStatements()) {
                 Optional<JMockitBlockType> blockTypeOpt = JMockitUtils.getJMockitBlock(s);
-                if (blockTypeOpt.isPresent()) {
-                    JMockitBlockType blockType = blockTypeOpt.get();
-                    JMockitBlockRewriter blockRewriter = new JMockitBlockRewriter(this, ctx, methodBody,
-                            ((J.NewClass) s), bodyStatementIndex, blockType, verificationsInOrderIdx);
-                    methodBody = blockRewriter.rewriteMethodBody();
-                    statements = methodBody.getStatements();
-                    // if the block rewrite failed, skip the next statement
-                    if (blockRewriter.isRewriteFailed()) {
-                        bodyStatementIndex++;
-                    } else {
-                        if (blockType == JMockitBlockType.VerificationsInOrder) {
-                            verificationsInOrderIdx++;
-                        }
-                    }
-                } else {
-                    bodyStatementIndex++;
+                if (!blockTypeOpt.isPresent()) {
+                    statements.add(s);
+                    continue;
+                }
+                JMockitBlockType blockType = blockTypeOpt.get();
+                JMockitBlockRewriter blockRewriter = new JMockitBlockRewriter(this, ctx, methodBody,
+                        ((J.NewClass) s), blockType, verificationsInOrderIdx);
+                blockRewriter.rewriteBlock();
+                statements.addAll(blockRewriter.getStatements());
+                trailingStatements.addAll(blockRewriter.getTrailingStatements());
+                if (!blockRewriter.isRewriteFailed() && blockType == JMockitBlockType.VerificationsInOrder) {
+                    verificationsInOrderIdx++;
                 }
             }
-            return md.withBody(methodBody);
+            statements.addAll(trailingStatements);
+            return md.withBody(methodBody.withStatements(statements));
         }
     }
 }
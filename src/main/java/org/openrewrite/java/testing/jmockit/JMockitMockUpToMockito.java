@@ -18,7 +18,7 @@ package org.openrewrite.java.testing.jmockit;
 import org.openrewrite.*;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.SearchResult;
 import org.openrewrite.staticanalysis.LambdaBlockToExpression;
@@ -60,11 +60,11 @@ public class JMockitMockUpToMockito extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesType<>(JMOCKIT_MOCKUP_IMPORT, false), new JMockitMockUpToMockitoVisitor());
+        return Preconditions.check(new IndexedUsesType(JMOCKIT_MOCKUP_IMPORT, false), new JMockitMockUpToMockitoVisitor());
     }
 
     private static class JMockitMockUpToMockitoVisitor extends JavaIsoVisitor<ExecutionContext> {
-        private final Map<String, J.Identifier> tearDownMocks = new HashMap<>();
+        private static final String TEAR_DOWN_MOCKS = "tearDownMocks";
 
         /**
          * Handle at class level because need to handle the case where when there is a MockUp in a setup method, and we
@@ -72,6 +72,10 @@ public class JMockitMockUpToMockito extends Recipe {
          */
         @Override
         public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+            // Mocks to close in the teardown are kept per class rather than in the visitor, which is shared between files
+            Map<String, J.Identifier> tearDownMocks = new HashMap<>();
+            getCursor().putMessage(TEAR_DOWN_MOCKS, tearDownMocks);
+
             // Handle @Before/@BeforeEach mockUp
             Set<J.MethodDeclaration> mds = TreeVisitor.collect(
                             new JavaIsoVisitor<ExecutionContext>() {
@@ -157,6 +161,7 @@ public class JMockitMockUpToMockito extends Recipe {
             if (md.getBody() == null) {
                 return md;
             }
+            Map<String, J.Identifier> tearDownMocks = getCursor().getNearestMessage(TEAR_DOWN_MOCKS, Collections.emptyMap());
             if (isTearDownMethod(md)) {
                 for (J.Identifier id : tearDownMocks.values()) {
                     String type = TypeUtils.asFullyQualified(id.getFieldType().getType()).getFullyQualifiedName();
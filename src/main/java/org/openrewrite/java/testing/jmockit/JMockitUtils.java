@@ -17,12 +17,14 @@ package org.openrewrite.java.testing.jmockit;
 
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.testing.internal.JavaParserPool;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.Statement;
 import org.openrewrite.java.tree.TypeUtils;
 
-import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import static java.util.Optional.empty;
@@ -30,9 +32,18 @@ import static java.util.Optional.empty;
 class JMockitUtils {
 
     static final String MOCKITO_ALL_IMPORT = "org.mockito.Mockito.*";
+    static final String MOCKITO_CLASSPATH_RESOURCE = "mockito-core-3.12";
+
+    private static final Map<String, Optional<JMockitBlockType>> BLOCK_TYPES_BY_FQN = new HashMap<>();
+
+    static {
+        for (JMockitBlockType blockType : JMockitBlockType.values()) {
+            BLOCK_TYPES_BY_FQN.put(blockType.getFqn(), Optional.of(blockType));
+        }
+    }
 
     public static JavaParser.Builder<?, ?> getJavaParser(ExecutionContext ctx) {
-        return JavaParser.fromJavaVersion().classpathFromResources(ctx, "mockito-core-3.12");
+        return JavaParserPool.fromResources(ctx, MOCKITO_CLASSPATH_RESOURCE);
     }
 
     static Optional<JMockitBlockType> getJMockitBlock(Statement s) {
@@ -40,18 +51,17 @@ class JMockitUtils {
             return empty();
         }
 
+        // JMockit blocks are always anonymous subclasses, so reject anything else before looking at types
         J.NewClass nc = (J.NewClass) s;
         if (nc.getBody() == null || nc.getClazz() == null) {
             return empty();
         }
 
-        JavaType type = nc.getClazz().getType();
+        JavaType.FullyQualified type = TypeUtils.asFullyQualified(nc.getClazz().getType());
         if (type == null) {
             return empty();
         }
 
-        return Arrays.stream(JMockitBlockType.values())
-                .filter(supportedType -> TypeUtils.isOfClassType(type, supportedType.getFqn()))
-                .findFirst();
+        return BLOCK_TYPES_BY_FQN.getOrDefault(type.getFullyQualifiedName(), empty());
     }
 }
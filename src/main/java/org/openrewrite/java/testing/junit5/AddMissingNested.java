@@ -25,7 +25,7 @@ import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.search.FindAnnotations;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.TypeUtils;
 
@@ -45,7 +45,7 @@ public class AddMissingNested extends Recipe {
 
     @SuppressWarnings("unchecked")
     private static final TreeVisitor<?, ExecutionContext> PRECONDITION =
-            Preconditions.or(TEST_ANNOTATIONS.stream().map(r -> new UsesType<>(r, false)).toArray(UsesType[]::new));
+            Preconditions.or(TEST_ANNOTATIONS.stream().map(r -> new IndexedUsesType(r, false)).toArray(IndexedUsesType[]::new));
 
     @Override
     public String getDisplayName() {
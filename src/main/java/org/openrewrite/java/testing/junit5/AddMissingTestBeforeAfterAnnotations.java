@@ -97,11 +97,11 @@ public class AddMissingTestBeforeAfterAnnotations extends Recipe {
         AFTER_EACH("org.junit.After", "org.junit.jupiter.api.AfterEach"),
         TEST("org.junit.Test", "org.junit.jupiter.api.Test");
 
-        String newAnnotation;
-        String newAnnotationSimple;
-        private AnnotationMatcher newAnnotationMatcher;
-        private Predicate<FullyQualified> newAnnotationPredicate;
-        private Predicate<FullyQualified> oldAnnotationPredicate;
+        final String newAnnotation;
+        final String newAnnotationSimple;
+        private final AnnotationMatcher newAnnotationMatcher;
+        private final Predicate<FullyQualified> newAnnotationPredicate;
+        private final Predicate<FullyQualified> oldAnnotationPredicate;
 
         LifecyleAnnotation(String oldAnnotation, String newAnnotation) {
             this.newAnnotation = newAnnotation;
@@ -20,7 +20,7 @@ import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.*;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaCoordinates;
 
@@ -57,7 +57,7 @@ public class AddParameterizedTestAnnotation extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesType<>("org.junit.jupiter.params.provider.*", false), new AnnotatedMethodVisitor());
+        return Preconditions.check(new IndexedUsesType("org.junit.jupiter.params.provider.*", false), new AnnotatedMethodVisitor());
     }
 
     private static class AnnotatedMethodVisitor extends JavaIsoVisitor<ExecutionContext> {
@@ -19,12 +19,13 @@ import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
+import org.openrewrite.Tree;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
-import org.openrewrite.java.ChangeMethodTargetToStatic;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
 import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -46,11 +47,12 @@ public class AssertToAssertions extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesType<>("org.junit.Assert", false), new AssertToAssertionsVisitor());
+        return Preconditions.check(new IndexedUsesType("org.junit.Assert", false), new AssertToAssertionsVisitor());
     }
 
     public static class AssertToAssertionsVisitor extends JavaIsoVisitor<ExecutionContext> {
         private static final JavaType ASSERTION_TYPE = JavaType.buildType("org.junit.Assert");
+        private static final JavaType.FullyQualified ASSERTIONS_TYPE = JavaType.ShallowClass.build("org.junit.jupiter.api.Assertions");
 
         private static final List<String> JUNIT_ASSERT_METHOD_NAMES = Arrays.asList(
                 "assertArrayEquals", "assertEquals", "assertFalse", "assertNotEquals", "assertNotNull", "assertNotSame",
@@ -81,10 +83,33 @@ public class AssertToAssertions extends Recipe {
             if (!isJunitAssertMethod(m)) {
                 return m;
             }
-            doAfterVisit(new ChangeMethodTargetToStatic("org.junit.Assert " + m.getSimpleName() + "(..)",
-                    "org.junit.jupiter.api.Assertions", null, null, true)
-                    .getVisitor());
+            return retargetToAssertions(moveMessageToLastArgument(m));
+        }
+
+        /**
+         * Calls the assertion on {@code Assertions} instead, in this same pass rather than through a
+         * {@code ChangeMethodTargetToStatic} visitor per assertion method.
+         */
+        private J.MethodInvocation retargetToAssertions(J.MethodInvocation m) {
+            JavaType.Method assertionsMethodType = null;
+            if (m.getMethodType() != null) {
+                maybeRemoveImport(m.getMethodType().getDeclaringType());
+                assertionsMethodType = m.getMethodType().withDeclaringType(ASSERTIONS_TYPE);
+            }
+            if (m.getSelect() == null) {
+                maybeAddImport(ASSERTIONS_TYPE.getFullyQualifiedName(), m.getSimpleName(), false);
+            } else {
+                maybeAddImport(ASSERTIONS_TYPE.getFullyQualifiedName(), false);
+                m = m.withSelect(new J.Identifier(Tree.randomId(), m.getSelect().getPrefix(), Markers.EMPTY, emptyList(),
+                        ASSERTIONS_TYPE.getClassName(), ASSERTIONS_TYPE, null));
+            }
+            if (assertionsMethodType == null) {
+                return m;
+            }
+            return m.withMethodType(assertionsMethodType).withName(m.getName().withType(assertionsMethodType));
+        }
 
+        static J.MethodInvocation moveMessageToLastArgument(J.MethodInvocation m) {
             List<JRightPadded<Expression>> args = m.getPadding().getArguments().getPadding().getElements();
             Expression firstArg = args.get(0).getElement();
             // Suppress arg-switching for Assertions.assertEquals(String, String)
@@ -128,7 +153,7 @@ public class AssertToAssertions extends Recipe {
             return m;
         }
 
-        private static boolean isJunitAssertMethod(J.MethodInvocation method) {
+        static boolean isJunitAssertMethod(J.MethodInvocation method) {
             if (method.getMethodType() != null && TypeUtils.isOfType(ASSERTION_TYPE, method.getMethodType().getDeclaringType())) {
                 return !"assertThat".equals(method.getSimpleName());
             }
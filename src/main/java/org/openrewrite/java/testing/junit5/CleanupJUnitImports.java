@@ -20,7 +20,7 @@ import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaSourceFile;
 
@@ -38,8 +38,8 @@ public class CleanupJUnitImports extends Recipe {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(Preconditions.or(
-                new UsesType<>("org.junit.*", false),
-                new UsesType<>("junit.*", false)
+                new IndexedUsesType("org.junit.*", false),
+                new IndexedUsesType("junit.*", false)
         ), new CleanupJUnitImportsVisitor());
     }
 
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.junit5;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.FindAnnotations;
+import org.openrewrite.java.testing.internal.JavaParserPool;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.properties.PropertiesParser;
+import org.openrewrite.properties.tree.Properties;
+
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class ConfigureParallelExecution extends ScanningRecipe<ConfigureParallelExecution.Accumulator> {
+
+    private static final String TEST_SOURCES = "src/test/java/";
+    private static final String PLATFORM_PROPERTIES = "src/test/resources/junit-platform.properties";
+
+    private static final String[][] PARALLEL_PROPERTIES = {
+            {"junit.jupiter.execution.parallel.enabled", "true"},
+            {"junit.jupiter.execution.parallel.mode.default", "concurrent"},
+            {"junit.jupiter.execution.parallel.mode.classes.default", "concurrent"}
+    };
+
+    private static final String[] PARALLEL_ANNOTATIONS = {
+            "@org.junit.jupiter.api.parallel.Execution",
+            "@org.junit.jupiter.api.parallel.ResourceLock",
+            "@org.junit.jupiter.api.parallel.ResourceLocks",
+            "@org.junit.jupiter.api.parallel.Isolated"
+    };
+
+    private static final String[] MUTABLE_TYPES = {
+            "java.util.Collection",
+            "java.util.Map"
+    };
+
+    private static final MethodMatcher MOCK_STATIC = new MethodMatcher("org.mockito.Mockito mockStatic(..)");
+    private static final MethodMatcher SYSTEM_PROPERTIES = new MethodMatcher("java.lang.System set*Propert*(..)");
+    private static final MethodMatcher CLEAR_PROPERTY = new MethodMatcher("java.lang.System clearProperty(String)");
+
+    @Override
+    public String getDisplayName() {
+        return "Configure JUnit Jupiter parallel execution";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Enables concurrent execution of JUnit Jupiter tests in `src/test/resources/junit-platform.properties`, " +
+               "creating the file when it does not exist. Test classes that are not safe to run concurrently are kept " +
+               "serial: classes with mutable static fields (including `static final` collections, maps, arrays and atomics), static `@TempDir` fields or `MockedStatic` mocks are annotated " +
+               "with `@Execution(SAME_THREAD)`, and classes changing system properties get " +
+               "`@ResourceLock(Resources.SYSTEM_PROPERTIES)`. Best run after migrating to JUnit 5.";
+    }
+
+    public static class Accumulator {
+        /**
+         * Module roots, relative to the repository root, containing JUnit Jupiter tests.
+         */
+        final Set<String> modules = ConcurrentHashMap.newKeySet();
+
+        /**
+         * Module roots that already have a `junit-platform.properties` file.
+         */
+        final Set<String> configured = ConcurrentHashMap.newKeySet();
+    }
+
+    @Override
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        return new Accumulator();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (!(tree instanceof SourceFile)) {
+                    return tree;
+                }
+                SourceFile s = (SourceFile) tree;
+                String module = moduleOfProperties(s);
+                if (module != null) {
+                    acc.configured.add(module);
+                } else if (s instanceof J.CompilationUnit) {
+                    module = moduleOfTestSource(s);
+                    if (module != null && usesJupiterTests((J.CompilationUnit) s)) {
+                        acc.modules.add(module);
+                    }
+                }
+                return tree;
+            }
+        };
+    }
+
+    @Override
+    public Collection<? extends SourceFile> generate(Accumulator acc, ExecutionContext ctx) {
+        List<SourceFile> generated = new ArrayList<>();
+        for (String module : new TreeSet<>(acc.modules)) {
+            if (!acc.configured.contains(module)) {
+                new PropertiesParser().parse(parallelProperties(Collections.emptySet()))
+                        .map(properties -> (SourceFile) properties.withSourcePath(Paths.get(module + PLATFORM_PROPERTIES)))
+                        .forEach(generated::add);
+            }
+        }
+        return generated;
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(Accumulator acc) {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (!(tree instanceof SourceFile)) {
+                    return tree;
+                }
+                SourceFile s = (SourceFile) tree;
+                String module = moduleOfProperties(s);
+                if (module != null) {
+                    if (!acc.modules.contains(module)) {
+                        return s;
+                    }
+                    return s instanceof Properties.File ? addParallelProperties((Properties.File) s) : s;
+                }
+                if (s instanceof J.CompilationUnit && acc.modules.contains(moduleOfTestSource(s))) {
+                    return new SerializeUnsafeTests().visitNonNull(s, ctx);
+                }
+                return s;
+            }
+        };
+    }
+
+    private static @Nullable String moduleOfProperties(SourceFile s) {
+        String path = s.getSourcePath().toString().replace('\\', '/');
+        if (path.equals(PLATFORM_PROPERTIES) || path.endsWith('/' + PLATFORM_PROPERTIES)) {
+            return path.substring(0, path.length() - PLATFORM_PROPERTIES.length());
+        }
+        return null;
+    }
+
+    private static @Nullable String moduleOfTestSource(SourceFile s) {
+        String path = s.getSourcePath().toString().replace('\\', '/');
+        if (path.startsWith(TEST_SOURCES)) {
+            return "";
+        }
+        int index = path.indexOf('/' + TEST_SOURCES);
+        return index < 0 ? null : path.substring(0, index + 1);
+    }
+
+    private static boolean usesJupiterTests(J.CompilationUnit cu) {
+        for (JavaType.Method method : cu.getTypesInUse().getDeclaredMethods()) {
+            for (JavaType.FullyQualified annotation : method.getAnnotations()) {
+                if (annotation.getFullyQualifiedName().startsWith("org.junit.jupiter.")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Appends the parallel execution properties that are not yet set, leaving existing entries untouched.
+     */
+    private static Properties.File addParallelProperties(Properties.File file) {
+        Set<String> keys = new HashSet<>();
+        for (Properties.Content content : file.getContent()) {
+            if (content instanceof Properties.Entry) {
+                keys.add(((Properties.Entry) content).getKey());
+            }
+        }
+        String missing = parallelProperties(keys);
+        if (missing.isEmpty()) {
+            return file;
+        }
+        Properties.File added = (Properties.File) new PropertiesParser().parse(missing)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unable to parse parallel execution properties"));
+        List<Properties.Content> content = new ArrayList<>(file.getContent());
+        for (Properties.Content entry : added.getContent()) {
+            content.add(content.isEmpty() || !entry.getPrefix().isEmpty() ? entry : (Properties.Content) entry.withPrefix("\n"));
+        }
+        return file.withContent(content);
+    }
+
+    private static String parallelProperties(Set<String> existingKeys) {
+        StringBuilder properties = new StringBuilder();
+        for (String[] property : PARALLEL_PROPERTIES) {
+            if (!existingKeys.contains(property[0])) {
+                properties.append(property[0]).append('=').append(property[1]).append('\n');
+            }
+        }
+        return properties.toString();
+    }
+
+    private static class SerializeUnsafeTests extends JavaIsoVisitor<ExecutionContext> {
+
+        @Override
+        public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+            // Execution modes and resource locks are inherited by nested classes, so only top level classes are annotated
+            if (!(getCursor().getParentTreeCursor().getValue() instanceof J.CompilationUnit)) {
+                return classDecl;
+            }
+            for (String annotation : PARALLEL_ANNOTATIONS) {
+                //noinspection DataFlowIssue
+                if (!FindAnnotations.find(classDecl.withBody(null), annotation).isEmpty()) {
+                    return classDecl;
+                }
+            }
+
+            ParallelSafety safety = new ParallelSafety();
+            safety.visit(classDecl, ctx, getCursor().getParentOrThrow());
+            if (!safety.test) {
+                return classDecl;
+            }
+
+            J.ClassDeclaration cd = classDecl;
+            if (safety.sameThread) {
+                maybeAddImport("org.junit.jupiter.api.parallel.Execution");
+                maybeAddImport("org.junit.jupiter.api.parallel.ExecutionMode");
+                cd = addAnnotation(cd, "@Execution(ExecutionMode.SAME_THREAD)",
+                        "org.junit.jupiter.api.parallel.Execution",
+                        "org.junit.jupiter.api.parallel.ExecutionMode", ctx);
+            }
+            if (safety.systemProperties) {
+                maybeAddImport("org.junit.jupiter.api.parallel.ResourceLock");
+                maybeAddImport("org.junit.jupiter.api.parallel.Resources");
+                cd = addAnnotation(cd, "@ResourceLock(Resources.SYSTEM_PROPERTIES)",
+                        "org.junit.jupiter.api.parallel.ResourceLock",
+                        "org.junit.jupiter.api.parallel.Resources", ctx);
+            }
+            return cd;
+        }
+
+        private J.ClassDeclaration addAnnotation(J.ClassDeclaration cd, String annotation, String annotationType,
+                                                 String argumentType, ExecutionContext ctx) {
+            return JavaTemplate.builder(annotation)
+                    .javaParser(JavaParserPool.fromResources(ctx, "junit-jupiter-api-5.9"))
+                    .imports(annotationType, argumentType)
+                    .build()
+                    .apply(updateCursor(cd), cd.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)));
+        }
+    }
+
+    /**
+     * Looks for shared state in a test class, including its nested classes, that prevents concurrent execution.
+     */
+    private static class ParallelSafety extends JavaIsoVisitor<ExecutionContext> {
+        boolean test;
+        boolean sameThread;
+        boolean systemProperties;
+
+        @Override
+        public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+            for (J.Annotation annotation : method.getLeadingAnnotations()) {
+                JavaType.FullyQualified type = TypeUtils.asFullyQualified(annotation.getType());
+                if (type != null && type.getFullyQualifiedName().startsWith("org.junit.jupiter.")) {
+                    test = true;
+                }
+            }
+            return super.visitMethodDeclaration(method, ctx);
+        }
+
+        @Override
+        public J.VariableDeclarations visitVariableDeclarations(J.VariableDeclarations multiVariable, ExecutionContext ctx) {
+            if (multiVariable.hasModifier(J.Modifier.Type.Static) &&
+                (!multiVariable.hasModifier(J.Modifier.Type.Final) || isMutable(multiVariable.getType())) ||
+                TypeUtils.isOfClassType(multiVariable.getType(), "org.mockito.MockedStatic")) {
+                sameThread = true;
+            }
+            return super.visitVariableDeclarations(multiVariable, ctx);
+        }
+
+        /**
+         * Whether a `static final` field still holds shared state, such as a collection, array or atomic.
+         */
+        private static boolean isMutable(@Nullable JavaType type) {
+            if (type instanceof JavaType.Array) {
+                return true;
+            }
+            JavaType.FullyQualified fq = TypeUtils.asFullyQualified(type);
+            if (fq != null && "java.util.concurrent.atomic".equals(fq.getPackageName())) {
+                return true;
+            }
+            for (String mutableType : MUTABLE_TYPES) {
+                if (TypeUtils.isAssignableTo(mutableType, type)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+            if (MOCK_STATIC.matches(method)) {
+                sameThread = true;
+            } else if (SYSTEM_PROPERTIES.matches(method) || CLEAR_PROPERTY.matches(method)) {
+                systemProperties = true;
+            }
+            return super.visitMethodInvocation(method, ctx);
+        }
+    }
+}
@@ -59,15 +59,11 @@ public class GradleUseJunitJupiter extends Recipe {
     private static final MethodMatcher TEST_DSL_MATCHER = new MethodMatcher("RewriteGradleProject test(..)");
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        //noinspection NotNullFieldNotInitialized
         return new GroovyIsoVisitor<ExecutionContext>() {
-
-            GradleProject gp;
-
             @Override
             public G.CompilationUnit visitCompilationUnit(G.CompilationUnit compilationUnit, ExecutionContext ctx) {
                 //noinspection DataFlowIssue
-                gp = compilationUnit.getMarkers().findFirst(GradleProject.class).orElse(null);
+                GradleProject gp = compilationUnit.getMarkers().findFirst(GradleProject.class).orElse(null);
                 if(gp == null) {
                     return compilationUnit;
                 }
@@ -22,7 +22,7 @@ import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.AnnotationMatcher;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.J.MethodDeclaration;
 import org.openrewrite.java.tree.J.Modifier.Type;
@@ -42,7 +42,7 @@ public class LifecycleNonPrivate extends Recipe {
 
     @SuppressWarnings("unchecked")
     private static final TreeVisitor<?, ExecutionContext> PRECONDITION =
-            Preconditions.or(ANNOTATION_TYPES.stream().map(r -> new UsesType<>(r, false)).toArray(UsesType[]::new));
+            Preconditions.or(ANNOTATION_TYPES.stream().map(r -> new IndexedUsesType(r, false)).toArray(IndexedUsesType[]::new));
 
     @Override
     public String getDisplayName() {
@@ -16,6 +16,7 @@
 package org.openrewrite.java.testing.junit5;
 
 import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
@@ -23,15 +24,13 @@ import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.FindAnnotations;
-import org.openrewrite.java.search.UsesType;
-import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.JavaType;
-import org.openrewrite.java.tree.TextComment;
-import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.java.testing.internal.ChangeTypes;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
+import org.openrewrite.java.testing.internal.JavaTemplateCache;
+import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
 
-import java.util.Comparator;
-import java.util.List;
+import java.util.*;
 
 public class MigrateJUnitTestCase extends Recipe {
 
@@ -39,6 +38,9 @@ public class MigrateJUnitTestCase extends Recipe {
     private static final AnnotationMatcher JUNIT_AFTER_ANNOTATION_MATCHER = new AnnotationMatcher("@org.junit.*After*");
     private static final AnnotationMatcher JUNIT_BEFORE_ANNOTATION_MATCHER = new AnnotationMatcher("@org.junit.*Before*");
 
+    private static final Set<String> MIGRATED_TYPES = new HashSet<>(Arrays.asList(
+            "junit.framework.TestCase", "junit.framework.Assert", "org.junit.Assert"));
+
     private static boolean isSupertypeTestCase(JavaType.@Nullable FullyQualified fullyQualified) {
         if (fullyQualified == null || fullyQualified.getSupertype() == null || "java.lang.Object".equals(fullyQualified.getFullyQualifiedName())) {
             return false;
@@ -64,51 +66,94 @@ public class MigrateJUnitTestCase extends Recipe {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(Preconditions.or(
-                        new UsesType<>("junit.framework.TestCase", false),
-                        new UsesType<>("junit.framework.Assert", false)
+                        new IndexedUsesType("junit.framework.TestCase", false),
+                        new IndexedUsesType("junit.framework.Assert", false)
                 ),
-                new JavaIsoVisitor<ExecutionContext>() {
-                    @Override
-                    public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
-                        J.CompilationUnit c = super.visitCompilationUnit(cu, ctx);
-                        doAfterVisit(new TestCaseVisitor());
-                        // ChangeType for org.junit.Assert method invocations because TestCase extends org.junit.Assert
-                        doAfterVisit(new ChangeType("junit.framework.TestCase", "org.junit.Assert", true).getVisitor());
-                        doAfterVisit(new ChangeType("junit.framework.Assert", "org.junit.Assert", true).getVisitor());
-                        doAfterVisit(new AssertToAssertions.AssertToAssertionsVisitor());
-                        doAfterVisit(new UseStaticImport("org.junit.jupiter.api.Assertions assert*(..)").getVisitor());
-                        doAfterVisit(new UseStaticImport("org.junit.jupiter.api.Assertions fail*(..)").getVisitor());
-                        return c;
-                    }
-
-                    @SuppressWarnings("ConstantConditions")
-                    @Override
-                    public  J.@Nullable MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
-                        J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
-                        if ((mi.getSelect() != null && TypeUtils.isOfClassType(mi.getSelect().getType(), "junit.framework.TestCase")) ||
-                            (mi.getMethodType() != null && TypeUtils.isOfClassType(mi.getMethodType().getDeclaringType(), "junit.framework.TestCase"))) {
-                            String name = mi.getSimpleName();
-                            // setUp and tearDown will be invoked via Before and After annotations
-                            if ("setUp".equals(name) || "tearDown".equals(name)) {
-                                return null;
-                            } else if ("setName".equals(name)) {
-                                mi = mi.withPrefix(mi.getPrefix().withComments(ListUtils.concat(mi.getPrefix().getComments(), new TextComment(false, "", "", Markers.EMPTY))));
-                            }
-                        }
-                        return mi;
-                    }
-                });
+                new MigrateTestCaseVisitor());
+    }
+
+    private static class MigrateTestCaseVisitor extends VisitorSequence {
+        @Override
+        public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+            // Migrate in a single traversal when the fused visitor supports everything the source file uses
+            if (FusedTestCaseVisitor.supports(cu)) {
+                FusedTestCaseVisitor fused = new FusedTestCaseVisitor();
+                J.CompilationUnit migrated = (J.CompilationUnit) fused.visitNonNull(cu, ctx, getCursor().getParentOrThrow());
+                if (fused.isSupported()) {
+                    return migrated;
+                }
+            }
+            return super.visitCompilationUnit(cu, ctx);
+        }
+    }
+
+    /**
+     * Migrates with a sequence of visitors, for the source files that the {@link FusedTestCaseVisitor} does not support.
+     */
+    static class VisitorSequence extends JavaIsoVisitor<ExecutionContext> {
+        @Override
+        public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+            J.CompilationUnit c = super.visitCompilationUnit(cu, ctx);
+            doAfterVisit(new TestCaseVisitor());
+            // Change types for org.junit.Assert method invocations because TestCase extends org.junit.Assert
+            Map<String, String> changeTypes = new HashMap<>();
+            changeTypes.put("junit.framework.TestCase", "org.junit.Assert");
+            changeTypes.put("junit.framework.Assert", "org.junit.Assert");
+            doAfterVisit(new ChangeTypes(changeTypes));
+            doAfterVisit(new AssertToAssertions.AssertToAssertionsVisitor());
+            doAfterVisit(new UseStaticImport("org.junit.jupiter.api.Assertions assert*(..)").getVisitor());
+            doAfterVisit(new UseStaticImport("org.junit.jupiter.api.Assertions fail*(..)").getVisitor());
+            return c;
+        }
+
+        @Override
+        public J.@Nullable MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+            return removeTestCaseLifecycleInvocation(super.visitMethodInvocation(method, ctx));
+        }
+    }
+
+    @SuppressWarnings("ConstantConditions")
+    private static J.@Nullable MethodInvocation removeTestCaseLifecycleInvocation(J.MethodInvocation mi) {
+        if ((mi.getSelect() != null && TypeUtils.isOfClassType(mi.getSelect().getType(), "junit.framework.TestCase")) ||
+            (mi.getMethodType() != null && TypeUtils.isOfClassType(mi.getMethodType().getDeclaringType(), "junit.framework.TestCase"))) {
+            String name = mi.getSimpleName();
+            // setUp and tearDown will be invoked via Before and After annotations
+            if ("setUp".equals(name) || "tearDown".equals(name)) {
+                return null;
+            } else if ("setName".equals(name)) {
+                mi = mi.withPrefix(mi.getPrefix().withComments(ListUtils.concat(mi.getPrefix().getComments(), new TextComment(false, "", "", Markers.EMPTY))));
+            }
+        }
+        return mi;
+    }
+
+    private static boolean isAssertion(String methodName) {
+        return (methodName.startsWith("assert") || methodName.startsWith("fail")) && !"assertThat".equals(methodName);
     }
 
     private static class TestCaseVisitor extends JavaIsoVisitor<ExecutionContext> {
         private static final AnnotationMatcher OVERRIDE_ANNOTATION_MATCHER = new AnnotationMatcher("@java.lang.Override");
+        private static final String IS_TEST_CASE = "IS_TEST_CASE";
+
+        /**
+         * Whether classes that do not extend {@code TestCase} are visited too, for the invocations of the migrated
+         * types they contain. Their methods are left as they are.
+         */
+        boolean visitsOtherClasses() {
+            return false;
+        }
 
         @Override
         public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
-            if (!isSupertypeTestCase(classDecl.getType())) {
+            boolean testCase = isSupertypeTestCase(classDecl.getType());
+            if (!testCase && !visitsOtherClasses()) {
                 return classDecl;
             }
+            getCursor().putMessage(IS_TEST_CASE, testCase);
             J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
+            if (!testCase) {
+                return cd;
+            }
             if (cd.getExtends() != null && cd.getExtends().getType() != null) {
                 JavaType.FullyQualified fullQualifiedExtension = TypeUtils.asFullyQualified(cd.getExtends().getType());
                 if (fullQualifiedExtension != null && "junit.framework.TestCase".equals(fullQualifiedExtension.getFullyQualifiedName())) {
@@ -122,6 +167,9 @@ public class MigrateJUnitTestCase extends Recipe {
         @Override
         public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
             J.MethodDeclaration md = super.visitMethodDeclaration(method, ctx);
+            if (!getCursor().getNearestMessage(IS_TEST_CASE, false)) {
+                return md;
+            }
             updateCursor(md);
             if (md.getSimpleName().startsWith("test") && md.getLeadingAnnotations().stream().noneMatch(JUNIT_TEST_ANNOTATION_MATCHER::matches)) {
                 md = updateMethodDeclarationAnnotationAndModifier(md, "@Test", "org.junit.jupiter.api.Test", ctx);
@@ -136,10 +184,10 @@ public class MigrateJUnitTestCase extends Recipe {
         private J.MethodDeclaration updateMethodDeclarationAnnotationAndModifier(J.MethodDeclaration methodDeclaration, String annotation, String fullyQualifiedAnnotation, ExecutionContext ctx) {
             J.MethodDeclaration md = methodDeclaration;
             if (FindAnnotations.find(methodDeclaration.withBody(null), "@" + fullyQualifiedAnnotation).isEmpty()) {
-                md = JavaTemplate.builder(annotation)
-                        .javaParser(JavaParser.fromJavaVersion()
-                                .classpathFromResources(ctx, "junit-jupiter-api-5.9"))
-                        .imports(fullyQualifiedAnnotation).build()
+                md = JavaTemplateCache.builder(annotation)
+                        .classpathFromResources("junit-jupiter-api-5.9")
+                        .imports(fullyQualifiedAnnotation)
+                        .build(ctx)
                         .apply(getCursor(), methodDeclaration.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)));
                 md = maybeAddPublicModifier(md);
                 md = maybeRemoveOverrideAnnotation(md);
@@ -168,4 +216,119 @@ public class MigrateJUnitTestCase extends Recipe {
             }));
         }
     }
+
+    /**
+     * Does in one traversal what {@link TestCaseVisitor}, {@link ChangeTypes} from {@code junit.framework} to
+     * {@code org.junit.Assert}, {@link AssertToAssertions.AssertToAssertionsVisitor} and {@link UseStaticImport} for
+     * {@code Assertions} do in sequence. Source files using anything else of the migrated types, such as wildcard static
+     * imports or their other methods, are not supported and left to that sequence, as {@link #supports} tells before the
+     * traversal. The rarer uses only found while traversing, like invocations without type attribution or the migrated
+     * types referenced other than as the select of an assertion or the superclass of a test case, are reported by
+     * {@link #isSupported()} afterwards.
+     * <p>
+     * Like that sequence, assertions are also migrated in classes that do not extend {@code TestCase}.
+     */
+    static class FusedTestCaseVisitor extends TestCaseVisitor {
+        private static final JavaType.FullyQualified ASSERTIONS_TYPE = JavaType.ShallowClass.build("org.junit.jupiter.api.Assertions");
+
+        private boolean supported = true;
+
+        /**
+         * Tells from the imports and the methods used by the source file, both known without a traversal, whether the
+         * fused traversal supports it.
+         */
+        static boolean supports(J.CompilationUnit cu) {
+            for (J.Import anImport : cu.getImports()) {
+                if (anImport.isStatic() && "*".equals(anImport.getQualid().getSimpleName()) &&
+                    MIGRATED_TYPES.contains(anImport.getTypeName())) {
+                    return false;
+                }
+            }
+            for (JavaType.Method method : cu.getTypesInUse().getUsedMethods()) {
+                String name = method.getName();
+                if (MIGRATED_TYPES.contains(method.getDeclaringType().getFullyQualifiedName()) &&
+                    !isAssertion(name) && !"setUp".equals(name) && !"tearDown".equals(name)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isSupported() {
+            return supported;
+        }
+
+        @Override
+        boolean visitsOtherClasses() {
+            return true;
+        }
+
+        @Override
+        public J.Identifier visitIdentifier(J.Identifier identifier, ExecutionContext ctx) {
+            J.Identifier i = super.visitIdentifier(identifier, ctx);
+            JavaType.FullyQualified type = TypeUtils.asFullyQualified(i.getType());
+            if (type != null && MIGRATED_TYPES.contains(type.getFullyQualifiedName()) && !isMigratedReference(type)) {
+                supported = false;
+            }
+            return i;
+        }
+
+        /**
+         * Whether the type reference being visited goes away with the migration: in an import, as the select of an
+         * invocation, or as the {@code TestCase} superclass.
+         */
+        private boolean isMigratedReference(JavaType.FullyQualified type) {
+            if (getCursor().firstEnclosing(J.Import.class) != null) {
+                return true;
+            }
+            Object reference = getCursor().getValue();
+            Cursor parent = getCursor().getParentTreeCursor();
+            while (parent.getValue() instanceof J.FieldAccess && TypeUtils.isOfType(((J.FieldAccess) parent.getValue()).getType(), type)) {
+                // A fully qualified type name
+                reference = parent.getValue();
+                parent = parent.getParentTreeCursor();
+            }
+            if (parent.getValue() instanceof J.MethodInvocation) {
+                return ((J.MethodInvocation) parent.getValue()).getSelect() == reference;
+            }
+            return parent.getValue() instanceof J.ClassDeclaration &&
+                   ((J.ClassDeclaration) parent.getValue()).getExtends() == reference &&
+                   "junit.framework.TestCase".equals(type.getFullyQualifiedName());
+        }
+
+        @Override
+        public J.@Nullable MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+            J.MethodInvocation mi = removeTestCaseLifecycleInvocation(super.visitMethodInvocation(method, ctx));
+            if (mi == null || !supported) {
+                return mi;
+            }
+            JavaType.Method methodType = mi.getMethodType();
+            if (methodType == null) {
+                if (AssertToAssertions.AssertToAssertionsVisitor.isJunitAssertMethod(mi)) {
+                    supported = false;
+                }
+                return mi;
+            }
+            if (!MIGRATED_TYPES.contains(methodType.getDeclaringType().getFullyQualifiedName())) {
+                return mi;
+            }
+            String name = mi.getSimpleName();
+            if (!isAssertion(name)) {
+                supported = false;
+                return mi;
+            }
+
+            // Reorder the message argument like AssertToAssertions, then call the method statically on Assertions
+            mi = AssertToAssertions.AssertToAssertionsVisitor.moveMessageToLastArgument(mi);
+            JavaType.Method assertionsMethodType = methodType.withDeclaringType(ASSERTIONS_TYPE);
+            Space namePrefix = mi.getSelect() == null ? Space.EMPTY : mi.getSelect().getPrefix();
+            for (String migratedType : MIGRATED_TYPES) {
+                maybeRemoveImport(migratedType);
+            }
+            maybeAddImport(ASSERTIONS_TYPE.getFullyQualifiedName(), name, false);
+            return mi.withSelect(null)
+                    .withName(mi.getName().withPrefix(namePrefix).withType(assertionsMethodType))
+                    .withMethodType(assertionsMethodType);
+        }
+    }
 }
@@ -25,7 +25,7 @@ import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.format.AutoFormatVisitor;
 import org.openrewrite.java.search.FindAnnotations;
 import org.openrewrite.java.search.FindFieldsOfType;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.Statement;
 import org.openrewrite.java.tree.TypeUtils;
@@ -65,8 +65,8 @@ public class MockitoJUnitToMockitoExtension extends Recipe {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(Preconditions.or(
-                        new UsesType<>("org.mockito.junit.MockitoTestRule", false),
-                        new UsesType<>("org.mockito.junit.MockitoRule", false)
+                        new IndexedUsesType("org.mockito.junit.MockitoTestRule", false),
+                        new IndexedUsesType("org.mockito.junit.MockitoRule", false)
                 ),
                 new MockitoRuleToMockitoExtensionVisitor());
     }
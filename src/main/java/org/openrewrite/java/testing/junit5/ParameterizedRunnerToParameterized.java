@@ -19,7 +19,8 @@ import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.*;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
+import org.openrewrite.java.testing.internal.JavaParserPool;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
 
@@ -54,7 +55,7 @@ public class ParameterizedRunnerToParameterized extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesType<>("org.junit.runners.Parameterized", false), new ParameterizedRunnerVisitor());
+        return Preconditions.check(new IndexedUsesType("org.junit.runners.Parameterized", false), new ParameterizedRunnerVisitor());
     }
 
     private static class ParameterizedRunnerVisitor extends JavaIsoVisitor<ExecutionContext> {
@@ -182,8 +183,7 @@ public class ParameterizedRunnerToParameterized extends Recipe {
                     "@ParameterizedTest(#{any()})" :
                     "@ParameterizedTest";
 
-            JavaParser.Builder<?, ?> javaParserBuilder = JavaParser.fromJavaVersion()
-                    .classpathFromResources(ctx, "junit-jupiter-api-5.9", "junit-jupiter-params-5.9");
+            JavaParser.Builder<?, ?> javaParserBuilder = JavaParserPool.fromResources(ctx, "junit-jupiter-api-5.9", "junit-jupiter-params-5.9");
 
             this.parameterizedTestTemplate = JavaTemplate.builder(parameterizedTestAnnotationTemplate)
                     .javaParser(javaParserBuilder)
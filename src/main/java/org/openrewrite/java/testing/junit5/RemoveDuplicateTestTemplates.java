@@ -22,7 +22,7 @@ import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.AnnotationMatcher;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.RemoveAnnotationVisitor;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
 import org.openrewrite.java.tree.J;
 
 public class RemoveDuplicateTestTemplates extends Recipe {
@@ -42,7 +42,7 @@ public class RemoveDuplicateTestTemplates extends Recipe {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(
-                new UsesType<>("org.junit.jupiter.api.RepeatedTest", false),
+                new IndexedUsesType("org.junit.jupiter.api.RepeatedTest", false),
                 new RemoveDuplicateTestTemplateVisitor());
     }
 
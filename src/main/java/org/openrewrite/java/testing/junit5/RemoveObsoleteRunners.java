@@ -20,7 +20,7 @@ import lombok.Value;
 import org.openrewrite.*;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.RemoveAnnotation;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
 import org.openrewrite.java.tree.J;
 
 import java.util.List;
@@ -47,7 +47,7 @@ public class RemoveObsoleteRunners extends Recipe {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         @SuppressWarnings("unchecked") TreeVisitor<?, ExecutionContext> check =
-                Preconditions.or(obsoleteRunners.stream().map(r -> new UsesType<>(r, false)).toArray(UsesType[]::new));
+                Preconditions.or(obsoleteRunners.stream().map(r -> new IndexedUsesType(r, false)).toArray(IndexedUsesType[]::new));
         return Preconditions.check(check, new RemoveObsoleteRunnersVisitor());
     }
 
@@ -19,13 +19,12 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
-import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.search.FindAnnotations;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
+import org.openrewrite.java.testing.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 
@@ -66,27 +65,21 @@ public class RunnerToExtension extends Recipe {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         @SuppressWarnings("unchecked") TreeVisitor<?, ExecutionContext> precondition =
-                Preconditions.or(runners.stream().map(r -> new UsesType<>(r, false)).toArray(UsesType[]::new));
+                Preconditions.or(runners.stream().map(r -> new IndexedUsesType(r, false)).toArray(IndexedUsesType[]::new));
         return Preconditions.check(precondition, new JavaIsoVisitor<ExecutionContext>() {
             private final JavaType.Class extensionType = JavaType.ShallowClass.build(extension);
 
-            @Nullable
-            private JavaTemplate extendsWithTemplate;
-
             private JavaTemplate getExtendsWithTemplate(ExecutionContext ctx) {
-                if (extendsWithTemplate == null) {
-                    extendsWithTemplate = JavaTemplate.builder("@ExtendWith(#{}.class)")
-                            .javaParser(JavaParser.fromJavaVersion()
-                                    .classpathFromResources(ctx, "junit-jupiter-api-5.9")
-                                    .dependsOn("package " + extensionType.getPackageName() + ";\n" +
-                                               "import org.junit.jupiter.api.extension.Extension;\n" +
-                                               "public class " + extensionType.getClassName() + " implements Extension {}"))
-                            .imports("org.junit.jupiter.api.extension.ExtendWith",
-                                    "org.junit.jupiter.api.extension.Extension",
-                                    extension)
-                            .build();
-                }
-                return extendsWithTemplate;
+                // Shared by all source files of the run rather than kept in a field of the visitor
+                return JavaTemplateCache.builder("@ExtendWith(#{}.class)")
+                        .classpathFromResources("junit-jupiter-api-5.9")
+                        .dependsOn("package " + extensionType.getPackageName() + ";\n" +
+                                   "import org.junit.jupiter.api.extension.Extension;\n" +
+                                   "public class " + extensionType.getClassName() + " implements Extension {}")
+                        .imports("org.junit.jupiter.api.extension.ExtendWith",
+                                "org.junit.jupiter.api.extension.Extension",
+                                extension)
+                        .build(ctx);
             }
 
             @Override
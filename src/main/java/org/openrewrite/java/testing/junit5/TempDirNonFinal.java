@@ -19,7 +19,7 @@ import org.openrewrite.*;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.AnnotationMatcher;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.J.Modifier.Type;
 
@@ -43,7 +43,7 @@ public class TempDirNonFinal extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesType<>("org.junit.jupiter.api.io.TempDir", false), new TempDirVisitor());
+        return Preconditions.check(new IndexedUsesType("org.junit.jupiter.api.io.TempDir", false), new TempDirVisitor());
     }
 
     private static class TempDirVisitor extends JavaIsoVisitor<ExecutionContext> {
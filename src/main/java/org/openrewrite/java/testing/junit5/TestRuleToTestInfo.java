@@ -22,14 +22,18 @@ import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.*;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.ChangeTypes;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
+import org.openrewrite.java.testing.internal.JavaParserPool;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.Space;
 import org.openrewrite.java.tree.Statement;
 import org.openrewrite.java.tree.TypeUtils;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class TestRuleToTestInfo extends Recipe {
 
@@ -45,7 +49,7 @@ public class TestRuleToTestInfo extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesType<>("org.junit.rules.TestName", false), new TestRuleToTestInfoVisitor());
+        return Preconditions.check(new IndexedUsesType("org.junit.rules.TestName", false), new TestRuleToTestInfoVisitor());
     }
 
     private static class TestRuleToTestInfoVisitor extends JavaIsoVisitor<ExecutionContext> {
@@ -54,14 +58,8 @@ public class TestRuleToTestInfo extends Recipe {
         private static final AnnotationMatcher JUNIT_BEFORE_MATCHER = new AnnotationMatcher("@org.junit.Before");
         private static final AnnotationMatcher JUPITER_BEFORE_EACH_MATCHER = new AnnotationMatcher("@org.junit.jupiter.api.BeforeEach");
 
-        private JavaParser.@Nullable Builder<?, ?> javaParser;
-
         private JavaParser.Builder<?, ?> javaParser(ExecutionContext ctx) {
-            if (javaParser == null) {
-                javaParser = JavaParser.fromJavaVersion()
-                        .classpathFromResources(ctx, "junit-jupiter-api-5.9");
-            }
-            return javaParser;
+            return JavaParserPool.fromResources(ctx, "junit-jupiter-api-5.9");
         }
 
         @Override
@@ -80,8 +78,10 @@ public class TestRuleToTestInfo extends Recipe {
                     return mi;
                 }
             });
-            doAfterVisit(new ChangeType("org.junit.rules.TestName", "java.lang.String", true).getVisitor());
-            doAfterVisit(new ChangeType("org.junit.Before", "org.junit.jupiter.api.BeforeEach", true).getVisitor());
+            Map<String, String> changeTypes = new HashMap<>();
+            changeTypes.put("org.junit.rules.TestName", "java.lang.String");
+            changeTypes.put("org.junit.Before", "org.junit.jupiter.api.BeforeEach");
+            doAfterVisit(new ChangeTypes(changeTypes));
             return compilationUnit;
         }
 
@@ -161,14 +161,8 @@ public class TestRuleToTestInfo extends Recipe {
         private final J.VariableDeclarations varDecls;
         private final String testMethodStatement;
 
-        private JavaParser.@Nullable Builder<?, ?> javaParser;
-
         private JavaParser.Builder<?, ?> javaParser(ExecutionContext ctx) {
-            if (javaParser == null) {
-                javaParser = JavaParser.fromJavaVersion()
-                        .classpathFromResources(ctx, "junit-jupiter-api-5.9");
-            }
-            return javaParser;
+            return JavaParserPool.fromResources(ctx, "junit-jupiter-api-5.9");
         }
 
         public BeforeMethodToTestInfoVisitor(J.MethodDeclaration beforeMethod, J.VariableDeclarations varDecls, String testMethodStatement) {
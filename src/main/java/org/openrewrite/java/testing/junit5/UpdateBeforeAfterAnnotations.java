@@ -19,11 +19,14 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.ChangeType;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.ChangeTypes;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
 import org.openrewrite.java.tree.J;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public class UpdateBeforeAfterAnnotations extends Recipe {
     @Override
     public String getDisplayName() {
@@ -38,23 +41,28 @@ public class UpdateBeforeAfterAnnotations extends Recipe {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(Preconditions.or(
-                        new UsesType<>("org.junit.BeforeClass", false),
-                        new UsesType<>("org.junit.Before", false),
-                        new UsesType<>("org.junit.After", false),
-                        new UsesType<>("org.junit.AfterClass", false)
+                        new IndexedUsesType("org.junit.BeforeClass", false),
+                        new IndexedUsesType("org.junit.Before", false),
+                        new IndexedUsesType("org.junit.After", false),
+                        new IndexedUsesType("org.junit.AfterClass", false)
                 ),
                 new UpdateBeforeAfterAnnotationsVisitor());
     }
 
     public static class UpdateBeforeAfterAnnotationsVisitor extends JavaIsoVisitor<ExecutionContext> {
+        private static final Map<String, String> LIFECYCLE_ANNOTATIONS = new HashMap<>();
+
+        static {
+            LIFECYCLE_ANNOTATIONS.put("org.junit.Before", "org.junit.jupiter.api.BeforeEach");
+            LIFECYCLE_ANNOTATIONS.put("org.junit.After", "org.junit.jupiter.api.AfterEach");
+            LIFECYCLE_ANNOTATIONS.put("org.junit.BeforeClass", "org.junit.jupiter.api.BeforeAll");
+            LIFECYCLE_ANNOTATIONS.put("org.junit.AfterClass", "org.junit.jupiter.api.AfterAll");
+        }
 
         @Override
         public J preVisit(J tree, ExecutionContext ctx) {
             stopAfterPreVisit();
-            doAfterVisit(new ChangeType("org.junit.Before", "org.junit.jupiter.api.BeforeEach", true).getVisitor());
-            doAfterVisit(new ChangeType("org.junit.After", "org.junit.jupiter.api.AfterEach", true).getVisitor());
-            doAfterVisit(new ChangeType("org.junit.BeforeClass", "org.junit.jupiter.api.BeforeAll", true).getVisitor());
-            doAfterVisit(new ChangeType("org.junit.AfterClass", "org.junit.jupiter.api.AfterAll", true).getVisitor());
+            doAfterVisit(new ChangeTypes(LIFECYCLE_ANNOTATIONS));
             return tree;
         }
     }
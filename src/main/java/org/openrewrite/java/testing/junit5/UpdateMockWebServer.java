@@ -15,7 +15,6 @@
  */
 package org.openrewrite.java.testing.junit5;
 
-import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.AnnotationMatcher;
@@ -23,7 +22,8 @@ import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.dependencies.UpgradeDependencyVersion;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
+import org.openrewrite.java.testing.internal.JavaParserPool;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
 
@@ -66,19 +66,12 @@ public class UpdateMockWebServer extends Recipe {
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(
                 Preconditions.and(
-                        new UsesType<>("org.junit.Rule", false),
-                        new UsesType<>("okhttp3.mockwebserver.MockWebServer", false)
+                        new IndexedUsesType("org.junit.Rule", false),
+                        new IndexedUsesType("okhttp3.mockwebserver.MockWebServer", false)
                 ),
                 new JavaIsoVisitor<ExecutionContext>() {
-                    private JavaParser.@Nullable Builder<?, ?> javaParser;
-
                     private JavaParser.Builder<?, ?> javaParser(ExecutionContext ctx) {
-                        if (javaParser == null) {
-                            javaParser = JavaParser.fromJavaVersion()
-                                    .classpathFromResources(ctx, "junit-4.13", "junit-jupiter-api-5.9", "apiguardian-api-1.1",
-                                            "mockwebserver-3.14");
-                        }
-                        return javaParser;
+                        return JavaParserPool.fromResources(ctx, "junit-4.13", "junit-jupiter-api-5.9", "apiguardian-api-1.1", "mockwebserver-3.14");
                     }
 
                     @Override
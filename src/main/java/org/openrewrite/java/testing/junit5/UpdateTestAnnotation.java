@@ -23,7 +23,8 @@ import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.FindImports;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
+import org.openrewrite.java.testing.internal.JavaParserPool;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markup;
 import org.openrewrite.staticanalysis.LambdaBlockToExpression;
@@ -47,7 +48,7 @@ public class UpdateTestAnnotation extends Recipe {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(Preconditions.or(
-                new UsesType<>("org.junit.Test", false),
+                new IndexedUsesType("org.junit.Test", false),
                 new FindImports("org.junit.Test", null).getVisitor()
         ), new UpdateTestAnnotationVisitor());
     }
@@ -55,14 +56,8 @@ public class UpdateTestAnnotation extends Recipe {
     private static class UpdateTestAnnotationVisitor extends JavaIsoVisitor<ExecutionContext> {
         private static final AnnotationMatcher JUNIT4_TEST = new AnnotationMatcher("@org.junit.Test");
 
-        private JavaParser.@Nullable Builder<?, ?> javaParser;
-
         private JavaParser.Builder<?, ?> javaParser(ExecutionContext ctx) {
-            if (javaParser == null) {
-                javaParser = JavaParser.fromJavaVersion()
-                        .classpathFromResources(ctx, "junit-jupiter-api-5.9", "apiguardian-api-1.1");
-            }
-            return javaParser;
+            return JavaParserPool.fromResources(ctx, "junit-jupiter-api-5.9", "apiguardian-api-1.1");
         }
 
         @Override
@@ -185,14 +180,8 @@ public class UpdateTestAnnotation extends Recipe {
 
             boolean found;
 
-            private JavaParser.@Nullable Builder<?, ?> javaParser;
-
             private JavaParser.Builder<?, ?> javaParser(ExecutionContext ctx) {
-                if (javaParser == null) {
-                    javaParser = JavaParser.fromJavaVersion()
-                            .classpathFromResources(ctx, "junit-jupiter-api-5.9", "apiguardian-api-1.1");
-                }
-                return javaParser;
+                return JavaParserPool.fromResources(ctx, "junit-jupiter-api-5.9", "apiguardian-api-1.1");
             }
 
             @Override
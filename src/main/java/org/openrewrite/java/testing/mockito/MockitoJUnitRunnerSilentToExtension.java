@@ -23,7 +23,8 @@ import org.openrewrite.java.AnnotationMatcher;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
+import org.openrewrite.java.testing.internal.JavaParserPool;
 import org.openrewrite.java.testing.junit5.RunnerToExtension;
 import org.openrewrite.java.tree.J;
 
@@ -43,15 +44,14 @@ public class MockitoJUnitRunnerSilentToExtension extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesType<>("org.mockito.junit.MockitoJUnitRunner$Silent", false), new JavaIsoVisitor<ExecutionContext>() {
+        return Preconditions.check(new IndexedUsesType("org.mockito.junit.MockitoJUnitRunner$Silent", false), new JavaIsoVisitor<ExecutionContext>() {
 
             private JavaParser.Builder<?, ?> javaParser = null;
 
             private JavaParser.Builder<?, ?> javaParser(ExecutionContext ctx) {
                 if (javaParser == null) {
-                    javaParser = JavaParser.fromJavaVersion()
-                            .logCompilationWarningsAndErrors(true)
-                            .classpathFromResources(ctx, "mockito-junit-jupiter-3.12", "mockito-core-3.12");
+                    javaParser = JavaParserPool.fromResources(ctx, "mockito-junit-jupiter-3.12", "mockito-core-3.12")
+                            .logCompilationWarningsAndErrors(true);
                 }
                 return javaParser;
             }
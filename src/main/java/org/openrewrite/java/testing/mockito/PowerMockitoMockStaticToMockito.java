@@ -15,12 +15,14 @@
  */
 package org.openrewrite.java.testing.mockito;
 
+import lombok.AccessLevel;
+import lombok.Getter;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.FindAnnotations;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
 import org.openrewrite.java.tree.*;
 
 import java.util.*;
@@ -45,8 +47,8 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(
                 Preconditions.or(
-                        new UsesType<>("org.powermock..*", false),
-                        new UsesType<>("org.mockito..*", false)
+                        new IndexedUsesType("org.powermock..*", false),
+                        new IndexedUsesType("org.mockito..*", false)
                 ),
                 new PowerMockitoToMockitoVisitor()
         );
@@ -71,28 +73,28 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
         private static final MethodMatcher DYNAMIC_WHEN_METHOD_MATCHER = new MethodMatcher("org.mockito.Mockito when(java.lang.Class, String, ..)");
         private static final String MOCK_PREFIX = "mocked";
         private static final String TEST_GROUP = "testGroup";
-
-        private String setUpMethodAnnotationSignature;
-        private String setUpMethodAnnotation;
-        private String tearDownMethodAnnotationSignature;
-        private String tearDownMethodAnnotation;
-        private String additionalClasspathResource;
-        private String setUpImportToAdd;
-        private String tearDownImportToAdd;
-        private String tearDownMethodAnnotationParameters = "";
+        private static final String TEST_FRAMEWORK = "testFramework";
 
         @Override
-        public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
+        public @Nullable J preVisit(J tree, ExecutionContext ctx) {
             if (tree instanceof JavaSourceFile) {
-                boolean useTestNg = !FindAnnotations.find((J) tree, "@org.testng.annotations.Test").isEmpty();
-                initTestFrameworkInfo(useTestNg);
+                // Kept on the source file cursor rather than in fields, as the visitor is shared between source files
+                boolean useTestNg = !FindAnnotations.find(tree, "@org.testng.annotations.Test").isEmpty();
+                getCursor().putMessage(TEST_FRAMEWORK, useTestNg ? TestFramework.TESTNG : TestFramework.JUPITER);
             }
-            return super.visit(tree, ctx);
+            return tree;
         }
 
         @Override
         public J visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
-            getCursor().putMessage(MOCK_STATIC_INVOCATIONS, new HashMap<>());
+            // Collect the `mockStatic` invocations and test groups up front, so that the fields, set-up and tear-down
+            // methods can be added before the class body is visited, and all of it is rewritten in a single pass
+            MockStaticUsages mockStaticUsages = new MockStaticUsages(classDecl);
+            mockStaticUsages.visit(classDecl, 0);
+            getCursor().putMessage(MOCK_STATIC_INVOCATIONS, mockStaticUsages.getInvocationsByClassName());
+            if (mockStaticUsages.getTestGroups() != null) {
+                getCursor().putMessage(TEST_GROUP, mockStaticUsages.getTestGroups());
+            }
 
             // Add the classes of the arguments in the annotation @PrepareForTest as fields
             // e.g. `@PrepareForTest(Calendar.class)`
@@ -129,23 +131,21 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
                 }
             }
 
-            J.ClassDeclaration cd = (J.ClassDeclaration) super.visitClassDeclaration(classDecl, ctx);
-
-            // Remove the extension of class PowerMockConfiguration
-            cd = removeExtension(cd, POWER_MOCK_CONFIG);
-            // Remove the extension of class PowerMockTestCase
-            cd = removeExtension(cd, POWER_MOCK_TEST_CASE);
-
+            J.ClassDeclaration cd = classDecl;
             if (!mockedStaticClasses.isEmpty()) {
-                // If there are mocked types, add empty setUp() and tearDown() methods if not yet present
+                // If there are mocked types, add empty setUp() and tearDown() methods if not yet present, which are
+                // filled when visiting the class body
                 cd = maybeAddSetUpMethodBody(cd, ctx);
                 cd = maybeAddTearDownMethodBody(cd, ctx);
                 cd = addFieldDeclarationForMockedTypes(cd, ctx, mockedStaticClasses);
-
-                // Invoke the visitors of the child tree a 2nd time to fill the new methods
-                return super.visitClassDeclaration(cd, ctx);
             }
-            return cd;
+
+            cd = (J.ClassDeclaration) super.visitClassDeclaration(cd, ctx);
+
+            // Remove the extension of class PowerMockConfiguration
+            cd = removeExtension(cd, POWER_MOCK_CONFIG);
+            // Remove the extension of class PowerMockTestCase
+            return removeExtension(cd, POWER_MOCK_TEST_CASE);
         }
 
         @Override
@@ -153,7 +153,8 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
             J.MethodDeclaration m = (J.MethodDeclaration) super.visitMethodDeclaration(method, ctx);
 
             // Add close static mocks on demand to tear down method
-            AnnotationMatcher tearDownAnnotationMatcher = new AnnotationMatcher(tearDownMethodAnnotationSignature);
+            TestFramework testFramework = getTestFramework();
+            AnnotationMatcher tearDownAnnotationMatcher = new AnnotationMatcher(testFramework.tearDownMethodAnnotationSignature);
             if (m.getAllAnnotations().stream().anyMatch(tearDownAnnotationMatcher::matches)) {
                 // Add close statements to the static mocks in the tear down method
                 return addCloseStaticMocksOnDemandStatement(m, ctx);
@@ -161,7 +162,7 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
 
             // Initialize the static mocks in the setup method
             AnnotationMatcher setUpAnnotationMatcher = new AnnotationMatcher(
-                    setUpMethodAnnotationSignature);
+                    testFramework.setUpMethodAnnotationSignature);
             if (m.getAllAnnotations().stream().anyMatch(setUpAnnotationMatcher::matches)) {
                 // Move the mockStatic method to the setUp method
                 m = moveMockStaticMethodToSetUp(m, ctx);
@@ -173,15 +174,6 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
         public @Nullable J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
             J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
 
-            Map<String, J.MethodInvocation> mockStaticInvocationsByClassName = getCursor().getNearestMessage(MOCK_STATIC_INVOCATIONS);
-            if (mockStaticInvocationsByClassName != null && MOCKED_STATIC_MATCHER.matches(mi)) {
-                Optional<Expression> firstArgument = mi.getArguments().stream().findFirst();
-                firstArgument.ifPresent(expression -> {
-                    mockStaticInvocationsByClassName.put(expression.toString(), mi);
-                    getCursor().putMessageOnFirstEnclosing(J.MethodDeclaration.class, MOCK_STATIC_INVOCATIONS, mockStaticInvocationsByClassName);
-                });
-            }
-
             if (DYNAMIC_WHEN_METHOD_MATCHER.matches(mi)) {
                 return modifyDynamicWhenMethodInvocation(mi);
             }
@@ -191,7 +183,6 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
             }
 
             if (MOCKED_STATIC_MATCHER.matches(mi)) {
-                determineTestGroups();
                 if (!getCursor().getPath(o -> o instanceof J.VariableDeclarations ||
                                               o instanceof J.Assignment ||
                                               o instanceof J.Try.Resource).hasNext()) {
@@ -299,23 +290,6 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
             return m;
         }
 
-        private void determineTestGroups() {
-            if (getCursor().getNearestMessage(TEST_GROUP) == null) {
-                J.MethodDeclaration methodDeclarationCursor = getCursor().firstEnclosing(J.MethodDeclaration.class);
-                if (methodDeclarationCursor != null) {
-                    Optional<J.Annotation> testAnnotation = methodDeclarationCursor
-                            .getLeadingAnnotations().stream()
-                            .filter(annotation -> annotation.getSimpleName().equals("Test")).findFirst();
-                    testAnnotation.ifPresent(
-                            ta -> {
-                                if (ta.getArguments() != null) {
-                                    getCursor().putMessageOnFirstEnclosing(J.ClassDeclaration.class, TEST_GROUP, ta.getArguments());
-                                }
-                            });
-                }
-            }
-        }
-
         private J.MethodInvocation modifyDynamicWhenMethodInvocation(J.MethodInvocation method) {
             // Example
             // `Mockito.when(Calendar.class, "getInstance")`
@@ -353,32 +327,8 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
             return classDecl;
         }
 
-        private void initTestFrameworkInfo(boolean useTestNg) {
-            String setUpMethodAnnotationName;
-            String tearDownMethodAnnotationName;
-            String annotationPackage;
-
-            if (!useTestNg) {
-                setUpMethodAnnotationName = "BeforeEach";
-                tearDownMethodAnnotationName = "AfterEach";
-                annotationPackage = "org.junit.jupiter.api";
-                additionalClasspathResource = "junit-jupiter-api-5.9";
-            } else {
-                setUpMethodAnnotationName = "BeforeMethod";
-                tearDownMethodAnnotationName = "AfterMethod";
-                annotationPackage = "org.testng.annotations";
-                additionalClasspathResource = "testng-7.7";
-                tearDownMethodAnnotationParameters = "(alwaysRun = true)";
-            }
-
-            this.setUpMethodAnnotation = "@" + setUpMethodAnnotationName;
-            this.tearDownMethodAnnotation = "@" + tearDownMethodAnnotationName;
-
-            this.setUpMethodAnnotationSignature = "@" + annotationPackage + "." + setUpMethodAnnotationName;
-            this.tearDownMethodAnnotationSignature = "@" + annotationPackage + "." + tearDownMethodAnnotationName;
-
-            this.setUpImportToAdd = annotationPackage + "." + setUpMethodAnnotationName;
-            this.tearDownImportToAdd = annotationPackage + "." + tearDownMethodAnnotationName;
+        private TestFramework getTestFramework() {
+            return getCursor().getNearestMessage(TEST_FRAMEWORK, TestFramework.JUPITER);
         }
 
         private Map<J.Identifier, Expression> getMockedTypesFields() {
@@ -441,9 +391,10 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
 
         private J.ClassDeclaration maybeAddSetUpMethodBody(J.ClassDeclaration classDecl, ExecutionContext ctx) {
             String testGroupsAsString = getTestGroupsAsString();
+            TestFramework testFramework = getTestFramework();
             return maybeAddMethodWithAnnotation(this, classDecl, ctx, false, "setUpStaticMocks",
-                    setUpMethodAnnotationSignature, setUpMethodAnnotation,
-                    additionalClasspathResource, setUpImportToAdd, testGroupsAsString);
+                    testFramework.setUpMethodAnnotationSignature, testFramework.setUpMethodAnnotation,
+                    testFramework.additionalClasspathResource, testFramework.setUpImportToAdd, testGroupsAsString);
         }
 
         private String getTestGroupsAsString() {
@@ -458,11 +409,12 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
         }
 
         private J.ClassDeclaration maybeAddTearDownMethodBody(J.ClassDeclaration classDecl, ExecutionContext ctx) {
-            String testGroupsAsString = (getTestGroupsAsString().isEmpty()) ? tearDownMethodAnnotationParameters : getTestGroupsAsString();
+            TestFramework testFramework = getTestFramework();
+            String testGroupsAsString = (getTestGroupsAsString().isEmpty()) ? testFramework.tearDownMethodAnnotationParameters : getTestGroupsAsString();
             return maybeAddMethodWithAnnotation(this, classDecl, ctx, false, "tearDownStaticMocks",
-                    tearDownMethodAnnotationSignature,
-                    tearDownMethodAnnotation,
-                    additionalClasspathResource, tearDownImportToAdd, testGroupsAsString);
+                    testFramework.tearDownMethodAnnotationSignature,
+                    testFramework.tearDownMethodAnnotation,
+                    testFramework.additionalClasspathResource, testFramework.tearDownImportToAdd, testGroupsAsString);
         }
 
 
@@ -480,8 +432,7 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
                 String declaringClassName = getDeclaringClassName(staticMI);
                 J.Identifier mockedStaticClassField = getFieldIdentifier(MOCK_PREFIX + declaringClassName);
                 if (mockedStaticClassField == null) {
-                    // The field definition of the static mocked class is still missing.
-                    // Return and wait for the second invocation
+                    // The static mocked class is not prepared for test, so there is no field for it
                     return whenMethod;
                 }
                 if (staticMI.getArguments().stream().map(Expression::getType)
@@ -536,4 +487,79 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
                     });
         }
     }
+
+    /**
+     * The set-up and tear-down annotations of the test framework used by a source file.
+     */
+    private enum TestFramework {
+        JUPITER("org.junit.jupiter.api", "BeforeEach", "AfterEach", "junit-jupiter-api-5.9", ""),
+        TESTNG("org.testng.annotations", "BeforeMethod", "AfterMethod", "testng-7.7", "(alwaysRun = true)");
+
+        final String setUpMethodAnnotationSignature;
+        final String setUpMethodAnnotation;
+        final String tearDownMethodAnnotationSignature;
+        final String tearDownMethodAnnotation;
+        final String additionalClasspathResource;
+        final String setUpImportToAdd;
+        final String tearDownImportToAdd;
+        final String tearDownMethodAnnotationParameters;
+
+        TestFramework(String annotationPackage, String setUpMethodAnnotationName, String tearDownMethodAnnotationName,
+                      String additionalClasspathResource, String tearDownMethodAnnotationParameters) {
+            this.setUpMethodAnnotation = "@" + setUpMethodAnnotationName;
+            this.tearDownMethodAnnotation = "@" + tearDownMethodAnnotationName;
+
+            this.setUpMethodAnnotationSignature = "@" + annotationPackage + "." + setUpMethodAnnotationName;
+            this.tearDownMethodAnnotationSignature = "@" + annotationPackage + "." + tearDownMethodAnnotationName;
+
+            this.setUpImportToAdd = annotationPackage + "." + setUpMethodAnnotationName;
+            this.tearDownImportToAdd = annotationPackage + "." + tearDownMethodAnnotationName;
+
+            this.additionalClasspathResource = additionalClasspathResource;
+            this.tearDownMethodAnnotationParameters = tearDownMethodAnnotationParameters;
+        }
+    }
+
+    /**
+     * Collects the `mockStatic` invocations of a class, by the name of the mocked class, and the groups of the first
+     * test method invoking `mockStatic` with groups. Nested classes are left to their own analysis.
+     */
+    @Getter
+    private static class MockStaticUsages extends JavaIsoVisitor<Integer> {
+        @Getter(AccessLevel.NONE)
+        private final J.ClassDeclaration classDecl;
+
+        private final Map<String, J.MethodInvocation> invocationsByClassName = new HashMap<>();
+
+        private @Nullable List<Expression> testGroups;
+
+        MockStaticUsages(J.ClassDeclaration classDecl) {
+            this.classDecl = classDecl;
+        }
+
+        @Override
+        public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration cd, Integer p) {
+            return cd == classDecl ? super.visitClassDeclaration(cd, p) : cd;
+        }
+
+        @Override
+        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Integer p) {
+            J.MethodInvocation mi = super.visitMethodInvocation(method, p);
+            if (PowerMockitoToMockitoVisitor.MOCKED_STATIC_MATCHER.matches(mi)) {
+                if (!mi.getArguments().isEmpty()) {
+                    invocationsByClassName.put(mi.getArguments().get(0).toString(), mi);
+                }
+                if (testGroups == null) {
+                    J.MethodDeclaration methodDeclaration = getCursor().firstEnclosing(J.MethodDeclaration.class);
+                    if (methodDeclaration != null) {
+                        methodDeclaration.getLeadingAnnotations().stream()
+                                .filter(annotation -> annotation.getSimpleName().equals("Test"))
+                                .findFirst()
+                                .ifPresent(ta -> testGroups = ta.getArguments());
+                    }
+                }
+            }
+            return mi;
+        }
+    }
 }
@@ -24,7 +24,7 @@ import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.testing.internal.IndexedUsesMethod;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 
@@ -46,8 +46,8 @@ public class RemoveTimesZeroAndOne extends Recipe {
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(
                 Preconditions.and(
-                        new UsesMethod<>(verifyMatcher),
-                        new UsesMethod<>(timesMatcher)
+                        new IndexedUsesMethod(verifyMatcher),
+                        new IndexedUsesMethod(timesMatcher)
                 ),
                 new JavaIsoVisitor<ExecutionContext>() {
                     @Override
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class ContainerDeclarations extends DataTable<ContainerDeclarations.Row> {
+
+    public ContainerDeclarations(Recipe recipe) {
+        super(recipe,
+                "Container declarations",
+                "Testcontainers containers declared in tests, with their image, scope and whether they can be reused between test runs.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The path to the source file declaring the container.")
+        String sourcePath;
+
+        @Column(displayName = "Name",
+                description = "The name of the field or variable holding the container.")
+        String name;
+
+        @Column(displayName = "Container class",
+                description = "The fully qualified name of the container class.")
+        String containerClass;
+
+        @Column(displayName = "Image",
+                description = "The image passed to the container constructor, or empty if the container uses its default image.")
+        @Nullable
+        String image;
+
+        @Column(displayName = "Scope",
+                description = "Whether the container is held by a `static` field, an `instance` field or a `local` variable.")
+        String scope;
+
+        @Column(displayName = "Reusable",
+                description = "Whether the container is a static field started outside of the Testcontainers JUnit extension, so that it can be reused between test runs.")
+        boolean reusable;
+    }
+}
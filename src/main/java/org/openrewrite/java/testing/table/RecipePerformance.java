@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class RecipePerformance extends DataTable<RecipePerformance.Row> {
+
+    public RecipePerformance(Recipe recipe) {
+        super(recipe,
+                "Recipe performance",
+                "Wall time, visited and changed source files, cached template lookups and their hit rate and precondition rejections of each recipe in a measured run.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Recipe",
+                description = "The name of the recipe.")
+        String recipe;
+
+        @Column(displayName = "Wall time (ms)",
+                description = "The time spent scanning and visiting source files with the recipe, summed over all threads and cycles.")
+        long wallTimeMs;
+
+        @Column(displayName = "Source files visited",
+                description = "The number of source files the recipe visitor was run on.")
+        long sourceFilesVisited;
+
+        @Column(displayName = "Source files changed",
+                description = "The number of source files the recipe visitor changed.")
+        long sourceFilesChanged;
+
+        @Column(displayName = "Cached template lookups",
+                description = "The number of templates the recipe looked up in the shared template cache while visiting. " +
+                              "Templates the recipe builds itself are not counted.")
+        long cachedTemplateLookups;
+
+        @Column(displayName = "Template cache hit rate",
+                description = "The share of the recipe's cached template lookups that found the template already built.")
+        double templateCacheHitRate;
+
+        @Column(displayName = "Precondition rejections",
+                description = "The number of visited source files none of the recipe's preconditions matched.")
+        long preconditionRejections;
+
+        @Column(displayName = "Precondition rejection rate",
+                description = "The share of visited source files none of the recipe's preconditions matched.")
+        double preconditionRejectionRate;
+    }
+}
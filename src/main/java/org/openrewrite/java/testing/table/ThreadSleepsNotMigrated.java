@@ -0,0 +1,51 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class ThreadSleepsNotMigrated extends DataTable<ThreadSleepsNotMigrated.Row> {
+
+    public ThreadSleepsNotMigrated(Recipe recipe) {
+        super(recipe,
+                "Thread sleeps not migrated",
+                "`Thread.sleep` calls in test methods that could not safely be replaced by Awaitility polling.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The path to the source file with the test method.")
+        String sourcePath;
+
+        @Column(displayName = "Test method",
+                description = "The name of the test method calling `Thread.sleep`.")
+        String testMethod;
+
+        @Column(displayName = "Sleep",
+                description = "The `Thread.sleep` call.")
+        String sleep;
+
+        @Column(displayName = "Reason",
+                description = "Why the call was left unchanged.")
+        String reason;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.testcontainers;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.AnnotationMatcher;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
+import org.openrewrite.java.testing.table.ContainerDeclarations;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.Objects;
+
+public class EnableContainerReuse extends Recipe {
+    private static final String GENERIC_CONTAINER = "org.testcontainers.containers.GenericContainer";
+    private static final AnnotationMatcher CONTAINER_MATCHER = new AnnotationMatcher("@org.testcontainers.junit.jupiter.Container");
+
+    transient ContainerDeclarations containerDeclarations = new ContainerDeclarations(this);
+
+    @Override
+    public String getDisplayName() {
+        return "Enable reuse of Testcontainers containers";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Add `.withReuse(true)` to containers held by `static` fields that are started outside of the " +
+               "Testcontainers JUnit extension, so that a container is kept running and reused by the next test run " +
+               "when `testcontainers.reuse.enable=true` is set. Lists every container declaration in a data table " +
+               "with its image, scope and whether it can be reused.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(new IndexedUsesType(GENERIC_CONTAINER, true), new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.VariableDeclarations visitVariableDeclarations(J.VariableDeclarations multiVariable, ExecutionContext ctx) {
+                J.VariableDeclarations mv = super.visitVariableDeclarations(multiVariable, ctx);
+                boolean field = getCursor().getParentTreeCursor().getParentTreeCursor().getValue() instanceof J.ClassDeclaration;
+                boolean staticField = field && mv.hasModifier(J.Modifier.Type.Static);
+                boolean managedByExtension = mv.getLeadingAnnotations().stream().anyMatch(CONTAINER_MATCHER::matches);
+                for (J.VariableDeclarations.NamedVariable variable : mv.getVariables()) {
+                    Expression initializer = variable.getInitializer();
+                    J.NewClass newContainer = initializer == null ? null : newContainer(initializer);
+                    if (newContainer == null) {
+                        continue;
+                    }
+                    boolean reusable = staticField && !managedByExtension;
+                    containerDeclarations.insertRow(ctx, new ContainerDeclarations.Row(
+                            getCursor().firstEnclosingOrThrow(SourceFile.class).getSourcePath().toString(),
+                            variable.getSimpleName(),
+                            containerClass(newContainer),
+                            ExplicitContainerImage.getImage(newContainer),
+                            staticField ? "static" : field ? "instance" : "local",
+                            reusable));
+                    if (reusable && !hasReuse(initializer)) {
+                        mv = JavaTemplate.builder("#{any(" + GENERIC_CONTAINER + ")}.withReuse(true)")
+                                .javaParser(JavaParser.fromJavaVersion().classpath("testcontainers"))
+                                .build()
+                                .apply(updateCursor(mv), initializer.getCoordinates().replace(), initializer);
+                    }
+                }
+                return mv;
+            }
+        });
+    }
+
+    /**
+     * The construction of a container, possibly configured with {@code with*} calls.
+     */
+    private static J.@Nullable NewClass newContainer(Expression expression) {
+        Expression e = expression;
+        while (e instanceof J.MethodInvocation && ((J.MethodInvocation) e).getSelect() != null &&
+               ((J.MethodInvocation) e).getSimpleName().startsWith("with")) {
+            e = Objects.requireNonNull(((J.MethodInvocation) e).getSelect());
+        }
+        return e instanceof J.NewClass && TypeUtils.isAssignableTo(GENERIC_CONTAINER, e.getType()) ? (J.NewClass) e : null;
+    }
+
+    private static String containerClass(J.NewClass newContainer) {
+        JavaType.FullyQualified type = TypeUtils.asFullyQualified(newContainer.getType());
+        return type == null ? String.valueOf(newContainer.getClazz()) : type.getFullyQualifiedName();
+    }
+
+    private static boolean hasReuse(Expression expression) {
+        @Nullable Expression e = expression;
+        while (e instanceof J.MethodInvocation) {
+            if ("withReuse".equals(((J.MethodInvocation) e).getSimpleName())) {
+                return true;
+            }
+            e = ((J.MethodInvocation) e).getSelect();
+        }
+        return false;
+    }
+}
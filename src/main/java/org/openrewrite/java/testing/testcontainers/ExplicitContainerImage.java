@@ -21,18 +21,23 @@ import org.openrewrite.*;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.testing.internal.IndexedUsesMethod;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.Space;
 import org.openrewrite.marker.Markers;
 
+import java.util.List;
+
 import static java.util.Collections.singletonList;
 
 @RequiredArgsConstructor
 public class ExplicitContainerImage extends Recipe {
+    private static final MethodMatcher DOCKER_IMAGE_NAME_PARSE = new MethodMatcher("org.testcontainers.utility.DockerImageName parse(String)");
+
     @Option(displayName = "Container class",
             description = "The fully qualified name of the container class to use.",
             example = "org.testcontainers.containers.NginxContainer")
@@ -62,32 +67,56 @@ public class ExplicitContainerImage extends Recipe {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         final MethodMatcher methodMatcher = new MethodMatcher(containerClass + " <constructor>()");
-        return Preconditions.check(new UsesMethod<>(methodMatcher), new JavaIsoVisitor<ExecutionContext>() {
+        return Preconditions.check(new IndexedUsesMethod(methodMatcher), new JavaIsoVisitor<ExecutionContext>() {
             @Override
             public J.NewClass visitNewClass(J.NewClass newClass, ExecutionContext ctx) {
                 J.NewClass nc = super.visitNewClass(newClass, ctx);
                 if (methodMatcher.matches(nc)) {
-                    Expression constructorArgument = getConstructorArgument(nc);
-                    return nc.withArguments(singletonList(constructorArgument))
-                            .withMethodType(nc.getMethodType()
-                                    .withParameterTypes(singletonList(constructorArgument.getType()))
-                                    .withParameterNames(singletonList("image")));
+                    return withImage(this, nc, image, parseImage != null && parseImage);
                 }
                 return nc;
             }
-
-            private Expression getConstructorArgument(J.NewClass newClass) {
-                if (parseImage != null && parseImage) {
-                    maybeAddImport("org.testcontainers.utility.DockerImageName");
-                    return JavaTemplate.builder("DockerImageName.parse(\"" + image + "\")")
-                            .imports("org.testcontainers.utility.DockerImageName")
-                            .javaParser(JavaParser.fromJavaVersion().classpath("testcontainers"))
-                            .build()
-                            .apply(getCursor(), newClass.getCoordinates().replace())
-                            .withPrefix(Space.EMPTY);
-                }
-                return new J.Literal(Tree.randomId(), Space.EMPTY, Markers.EMPTY, image, "\"" + image + "\"", null, JavaType.Primitive.String);
-            }
         });
     }
+
+    /**
+     * Passes the image to a no-argument container constructor, either as string literal or parsed by {@code DockerImageName}.
+     */
+    static J.NewClass withImage(JavaVisitor<ExecutionContext> visitor, J.NewClass newClass, String image, boolean parseImage) {
+        Expression constructorArgument;
+        if (parseImage) {
+            visitor.maybeAddImport("org.testcontainers.utility.DockerImageName");
+            constructorArgument = JavaTemplate.builder("DockerImageName.parse(\"" + image + "\")")
+                    .imports("org.testcontainers.utility.DockerImageName")
+                    .javaParser(JavaParser.fromJavaVersion().classpath("testcontainers"))
+                    .build()
+                    .apply(visitor.getCursor(), newClass.getCoordinates().replace())
+                    .withPrefix(Space.EMPTY);
+        } else {
+            constructorArgument = new J.Literal(Tree.randomId(), Space.EMPTY, Markers.EMPTY, image, "\"" + image + "\"", null, JavaType.Primitive.String);
+        }
+        return newClass.withArguments(singletonList(constructorArgument))
+                .withMethodType(newClass.getMethodType()
+                        .withParameterTypes(singletonList(constructorArgument.getType()))
+                        .withParameterNames(singletonList("image")));
+    }
+
+    /**
+     * The image passed to a container constructor, unwrapping {@code DockerImageName.parse(image)}, or {@code null} for
+     * a no-argument constructor. Images that are not string literals are returned as source code.
+     */
+    static @Nullable String getImage(J.NewClass newClass) {
+        List<Expression> arguments = newClass.getArguments();
+        if (arguments.isEmpty() || arguments.get(0) instanceof J.Empty) {
+            return null;
+        }
+        Expression image = arguments.get(0);
+        if (image instanceof J.MethodInvocation && DOCKER_IMAGE_NAME_PARSE.matches(image)) {
+            image = ((J.MethodInvocation) image).getArguments().get(0);
+        }
+        if (image instanceof J.Literal && ((J.Literal) image).getValue() instanceof String) {
+            return (String) ((J.Literal) image).getValue();
+        }
+        return image.toString();
+    }
 }
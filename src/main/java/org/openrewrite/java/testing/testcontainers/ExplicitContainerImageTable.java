@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.testcontainers;
+
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.testing.internal.IndexedUsesMethod;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.Collections;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class ExplicitContainerImageTable extends Recipe {
+    @Option(displayName = "Images",
+            description = "The image to use for each fully qualified container class, passed as string literal.",
+            example = "{ org.testcontainers.containers.NginxContainer: \"nginx:1.9.4\" }",
+            required = false)
+    @Nullable
+    private final Map<String, String> images;
+
+    @Option(displayName = "Parsed images",
+            description = "The image to use for each fully qualified container class, passed as `DockerImageName.parse(image)`.",
+            example = "{ org.testcontainers.containers.KafkaContainer: \"confluentinc/cp-kafka:5.4.3\" }",
+            required = false)
+    @Nullable
+    private final Map<String, String> parsedImages;
+
+    @Override
+    public String getDisplayName() {
+        return "Add image argument to container constructors";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Set the image to use for containers explicitly if unset, rather than relying on the default image for " +
+               "the container class. Rewrites the constructors of all listed container classes in a single pass.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        Map<String, String> literalImages = images == null ? Collections.emptyMap() : images;
+        Map<String, String> parseImages = parsedImages == null ? Collections.emptyMap() : parsedImages;
+        @SuppressWarnings("unchecked")
+        TreeVisitor<?, ExecutionContext>[] preconditions = new TreeVisitor[literalImages.size() + parseImages.size()];
+        int i = 0;
+        for (String containerClass : literalImages.keySet()) {
+            preconditions[i++] = new IndexedUsesMethod(containerClass + " <constructor>()");
+        }
+        for (String containerClass : parseImages.keySet()) {
+            preconditions[i++] = new IndexedUsesMethod(containerClass + " <constructor>()");
+        }
+        return Preconditions.check(Preconditions.or(preconditions), new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.NewClass visitNewClass(J.NewClass newClass, ExecutionContext ctx) {
+                J.NewClass nc = super.visitNewClass(newClass, ctx);
+                JavaType.Method constructorType = nc.getConstructorType();
+                if (constructorType == null || !constructorType.getParameterTypes().isEmpty()) {
+                    return nc;
+                }
+                String containerClass = constructorType.getDeclaringType().getFullyQualifiedName();
+                String image = literalImages.get(containerClass);
+                if (image != null) {
+                    return ExplicitContainerImage.withImage(this, nc, image, false);
+                }
+                image = parseImages.get(containerClass);
+                if (image != null) {
+                    return ExplicitContainerImage.withImage(this, nc, image, true);
+                }
+                return nc;
+            }
+        });
+    }
+}
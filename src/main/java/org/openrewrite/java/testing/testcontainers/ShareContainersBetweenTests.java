@@ -0,0 +1,362 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.testcontainers;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.Recipe;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.AnnotationMatcher;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.testing.internal.IndexedUsesType;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+public class ShareContainersBetweenTests extends Recipe {
+    private static final String GENERIC_CONTAINER = "org.testcontainers.containers.GenericContainer";
+    private static final AnnotationMatcher CONTAINER_MATCHER = new AnnotationMatcher("@org.testcontainers.junit.jupiter.Container");
+    private static final AnnotationMatcher BEFORE_EACH_MATCHER = new AnnotationMatcher("@org.junit.jupiter.api.BeforeEach");
+    private static final AnnotationMatcher AFTER_EACH_MATCHER = new AnnotationMatcher("@org.junit.jupiter.api.AfterEach");
+
+    @Override
+    public String getDisplayName() {
+        return "Share containers between test methods";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Turn containers that are created for every test method into `static` fields, so that a container is " +
+               "started once per test class. Instance `@Container` fields become `static`, and containers created and " +
+               "started in `@BeforeEach` become `static` fields started in a static initializer, as singleton " +
+               "containers. Containers that are reassigned or used other than through their getters are left alone.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(new IndexedUsesType(GENERIC_CONTAINER, true), new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+                if (!canDeclareStaticFields(classDecl)) {
+                    return super.visitClassDeclaration(classDecl, ctx);
+                }
+                ContainerUsages usages = new ContainerUsages(classDecl);
+                usages.visit(classDecl, 0, getCursor().getParentOrThrow());
+                Map<String, SharedContainer> shared = usages.getSharedContainers();
+                if (shared.isEmpty()) {
+                    return super.visitClassDeclaration(classDecl, ctx);
+                }
+
+                Set<UUID> removedStatements = new HashSet<>();
+                Set<UUID> lifecycleMethods = new HashSet<>();
+                for (SharedContainer container : shared.values()) {
+                    if (container.assignment != null) {
+                        removedStatements.add(container.assignment.getId());
+                        removedStatements.add(Objects.requireNonNull(container.start).getId());
+                        if (container.stop != null) {
+                            removedStatements.add(container.stop.getId());
+                        }
+                        lifecycleMethods.addAll(container.lifecycleMethods);
+                    }
+                }
+                getCursor().putMessage("SHARED_CONTAINERS", shared);
+                getCursor().putMessage("REMOVED_STATEMENTS", removedStatements);
+                J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
+
+                // Lifecycle methods left without statements are not needed anymore
+                cd = cd.withBody(cd.getBody().withStatements(ListUtils.map(cd.getBody().getStatements(), s -> {
+                    if (s instanceof J.MethodDeclaration) {
+                        J.MethodDeclaration md = (J.MethodDeclaration) s;
+                        if (lifecycleMethods.contains(md.getId()) && md.getBody() != null && md.getBody().getStatements().isEmpty()) {
+                            maybeRemoveImport("org.junit.jupiter.api.BeforeEach");
+                            maybeRemoveImport("org.junit.jupiter.api.AfterEach");
+                            return null;
+                        }
+                    }
+                    return s;
+                })));
+
+                // Singleton containers are started once, when the test class is initialized
+                for (Statement statement : cd.getBody().getStatements()) {
+                    if (statement instanceof J.VariableDeclarations) {
+                        J.VariableDeclarations field = (J.VariableDeclarations) statement;
+                        SharedContainer container = shared.get(field.getVariables().get(0).getSimpleName());
+                        if (container != null && container.assignment != null) {
+                            cd = JavaTemplate.builder("static {\n" + container.name + ".start();\n}")
+                                    .contextSensitive()
+                                    .build()
+                                    .apply(updateCursor(cd), field.getCoordinates().after());
+                        }
+                    }
+                }
+                return cd;
+            }
+
+            @Override
+            public J.VariableDeclarations visitVariableDeclarations(J.VariableDeclarations multiVariable, ExecutionContext ctx) {
+                J.VariableDeclarations mv = super.visitVariableDeclarations(multiVariable, ctx);
+                Map<String, SharedContainer> shared = getCursor().getNearestMessage("SHARED_CONTAINERS");
+                if (shared == null || !(getCursor().getParentTreeCursor().getParentTreeCursor().getValue() instanceof J.ClassDeclaration)) {
+                    return mv;
+                }
+                SharedContainer container = shared.get(mv.getVariables().get(0).getSimpleName());
+                if (container == null || !container.field.getId().equals(mv.getId())) {
+                    return mv;
+                }
+                if (container.assignment != null) {
+                    Expression initializer = container.assignment.getAssignment().withPrefix(Space.SINGLE_SPACE);
+                    mv = mv.withVariables(ListUtils.mapFirst(mv.getVariables(), v -> v.getPadding().withInitializer(
+                            new JLeftPadded<>(Space.SINGLE_SPACE, initializer, Markers.EMPTY))));
+                }
+                return addStaticModifier(mv);
+            }
+
+            @Override
+            public J.Block visitBlock(J.Block block, ExecutionContext ctx) {
+                J.Block b = super.visitBlock(block, ctx);
+                Set<UUID> removedStatements = getCursor().getNearestMessage("REMOVED_STATEMENTS");
+                if (removedStatements == null || !(getCursor().getParentTreeCursor().getValue() instanceof J.MethodDeclaration)) {
+                    return b;
+                }
+                return b.withStatements(ListUtils.map(b.getStatements(), s -> removedStatements.contains(s.getId()) ? null : s));
+            }
+        });
+    }
+
+    private static boolean canDeclareStaticFields(J.ClassDeclaration classDecl) {
+        // Inner classes, like @Nested test classes, can only declare static fields from Java 16 on
+        JavaType.FullyQualified type = classDecl.getType();
+        return type != null && (type.getOwningClass() == null || classDecl.hasModifier(J.Modifier.Type.Static)) &&
+               classDecl.getKind() == J.ClassDeclaration.Kind.Type.Class;
+    }
+
+    private static J.VariableDeclarations addStaticModifier(J.VariableDeclarations field) {
+        List<J.Modifier> modifiers = field.getModifiers();
+        TypeTree typeExpression = Objects.requireNonNull(field.getTypeExpression());
+        if (modifiers.isEmpty()) {
+            J.Modifier staticModifier = new J.Modifier(Tree.randomId(), typeExpression.getPrefix(), Markers.EMPTY, null, J.Modifier.Type.Static, emptyList());
+            return field.withModifiers(singletonList(staticModifier))
+                    .withTypeExpression(typeExpression.withPrefix(Space.SINGLE_SPACE));
+        }
+        int index = 0;
+        for (int i = 0; i < modifiers.size(); i++) {
+            J.Modifier.Type type = modifiers.get(i).getType();
+            if (type == J.Modifier.Type.Public || type == J.Modifier.Type.Protected || type == J.Modifier.Type.Private) {
+                index = i + 1;
+            }
+        }
+        List<J.Modifier> newModifiers = new ArrayList<>(modifiers);
+        if (index == 0) {
+            J.Modifier first = modifiers.get(0);
+            newModifiers.set(0, first.withPrefix(Space.SINGLE_SPACE));
+            newModifiers.add(0, new J.Modifier(Tree.randomId(), first.getPrefix(), Markers.EMPTY, null, J.Modifier.Type.Static, emptyList()));
+        } else {
+            newModifiers.add(index, new J.Modifier(Tree.randomId(), Space.SINGLE_SPACE, Markers.EMPTY, null, J.Modifier.Type.Static, emptyList()));
+        }
+        return field.withModifiers(newModifiers);
+    }
+
+    /**
+     * A container field that can be made {@code static}, with the statements that create, start and stop it for every
+     * test method if it is not a {@code @Container} field.
+     */
+    private static class SharedContainer {
+        final String name;
+        final J.VariableDeclarations field;
+        boolean mutated;
+
+        J.@Nullable Assignment assignment;
+        J.@Nullable MethodInvocation start;
+        J.@Nullable MethodInvocation stop;
+        final Set<UUID> lifecycleMethods = new HashSet<>();
+
+        SharedContainer(String name, J.VariableDeclarations field) {
+            this.name = name;
+            this.field = field;
+        }
+
+        boolean isShared() {
+            return !mutated && (assignment == null ? field.getVariables().get(0).getInitializer() != null : start != null);
+        }
+    }
+
+    /**
+     * Finds the container fields of a class and everything that creates, starts, stops or otherwise uses them.
+     */
+    private static class ContainerUsages extends JavaIsoVisitor<Integer> {
+        private final J.ClassDeclaration classDecl;
+        private final Map<String, SharedContainer> containers = new LinkedHashMap<>();
+        private final Set<UUID> lifecycleStatements = new HashSet<>();
+
+        ContainerUsages(J.ClassDeclaration classDecl) {
+            this.classDecl = classDecl;
+            for (Statement statement : classDecl.getBody().getStatements()) {
+                if (!(statement instanceof J.VariableDeclarations)) {
+                    continue;
+                }
+                J.VariableDeclarations field = (J.VariableDeclarations) statement;
+                if (field.getVariables().size() != 1 || field.hasModifier(J.Modifier.Type.Static) ||
+                    !TypeUtils.isAssignableTo(GENERIC_CONTAINER, field.getType())) {
+                    continue;
+                }
+                J.VariableDeclarations.NamedVariable variable = field.getVariables().get(0);
+                boolean containerAnnotated = field.getLeadingAnnotations().stream().anyMatch(CONTAINER_MATCHER::matches);
+                if (containerAnnotated ? variable.getInitializer() != null && isSharable(variable.getInitializer()) :
+                        variable.getInitializer() == null && !field.hasModifier(J.Modifier.Type.Final)) {
+                    containers.put(variable.getSimpleName(), new SharedContainer(variable.getSimpleName(), field));
+                }
+            }
+        }
+
+        Map<String, SharedContainer> getSharedContainers() {
+            Map<String, SharedContainer> shared = new LinkedHashMap<>();
+            for (Map.Entry<String, SharedContainer> entry : containers.entrySet()) {
+                if (entry.getValue().isShared()) {
+                    shared.put(entry.getKey(), entry.getValue());
+                }
+            }
+            return shared;
+        }
+
+        @Override
+        public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, Integer p) {
+            if (method.getBody() != null && getCursor().getParentTreeCursor().getParentTreeCursor().getValue() == classDecl) {
+                boolean beforeEach = method.getLeadingAnnotations().stream().anyMatch(BEFORE_EACH_MATCHER::matches);
+                boolean afterEach = method.getLeadingAnnotations().stream().anyMatch(AFTER_EACH_MATCHER::matches);
+                for (Statement statement : method.getBody().getStatements()) {
+                    if (beforeEach && statement instanceof J.Assignment) {
+                        J.Assignment assignment = (J.Assignment) statement;
+                        SharedContainer container = container(assignment.getVariable());
+                        if (container != null && container.field.getVariables().get(0).getInitializer() == null) {
+                            if (container.assignment != null || !isSharable(assignment.getAssignment())) {
+                                container.mutated = true;
+                            } else {
+                                container.assignment = assignment;
+                                container.lifecycleMethods.add(method.getId());
+                                lifecycleStatements.add(assignment.getId());
+                            }
+                        }
+                    } else if ((beforeEach || afterEach) && statement instanceof J.MethodInvocation) {
+                        J.MethodInvocation mi = (J.MethodInvocation) statement;
+                        SharedContainer container = mi.getSelect() == null ? null : container(mi.getSelect());
+                        if (container != null && container.assignment != null && mi.getArguments().get(0) instanceof J.Empty) {
+                            if (beforeEach && "start".equals(mi.getSimpleName()) && container.start == null) {
+                                container.start = mi;
+                                container.lifecycleMethods.add(method.getId());
+                                lifecycleStatements.add(mi.getId());
+                            } else if (afterEach && "stop".equals(mi.getSimpleName()) && container.stop == null) {
+                                container.stop = mi;
+                                container.lifecycleMethods.add(method.getId());
+                                lifecycleStatements.add(mi.getId());
+                            }
+                        }
+                    }
+                }
+            }
+            return super.visitMethodDeclaration(method, p);
+        }
+
+        @Override
+        public @Nullable J visit(@Nullable Tree tree, Integer p) {
+            // The statements creating, starting and stopping a container are not other uses of it
+            return tree != null && lifecycleStatements.contains(tree.getId()) ? (J) tree : super.visit(tree, p);
+        }
+
+        @Override
+        public J.Identifier visitIdentifier(J.Identifier identifier, Integer p) {
+            SharedContainer container = containers.get(identifier.getSimpleName());
+            if (container == null || !isField(identifier)) {
+                return identifier;
+            }
+            Cursor parent = getCursor().getParentTreeCursor();
+            Object use = identifier;
+            if (parent.getValue() instanceof J.VariableDeclarations.NamedVariable) {
+                return identifier;
+            }
+            if (parent.getValue() instanceof J.FieldAccess && ((J.FieldAccess) parent.getValue()).getName() == identifier) {
+                use = parent.getValue();
+                parent = parent.getParentTreeCursor();
+            }
+            if (!(parent.getValue() instanceof J.MethodInvocation && ((J.MethodInvocation) parent.getValue()).getSelect() == use &&
+                  isGetter(((J.MethodInvocation) parent.getValue()).getSimpleName()))) {
+                container.mutated = true;
+            }
+            return identifier;
+        }
+
+        private @Nullable SharedContainer container(Expression expression) {
+            J.Identifier identifier = expression instanceof J.FieldAccess ? ((J.FieldAccess) expression).getName() :
+                    expression instanceof J.Identifier ? (J.Identifier) expression : null;
+            return identifier == null || !isField(identifier) ? null : containers.get(identifier.getSimpleName());
+        }
+
+        private boolean isField(J.Identifier identifier) {
+            JavaType.Variable fieldType = identifier.getFieldType();
+            return fieldType != null && TypeUtils.isOfType(fieldType.getOwner(), classDecl.getType());
+        }
+
+        private static boolean isGetter(String methodName) {
+            return methodName.startsWith("get") || methodName.startsWith("is");
+        }
+
+        /**
+         * Whether the expression creates a container, possibly configured with {@code with*} calls, without referring
+         * to instance state of the test class, so that it can initialize a {@code static} field.
+         */
+        private boolean isSharable(Expression expression) {
+            Expression e = expression;
+            while (e instanceof J.MethodInvocation && ((J.MethodInvocation) e).getSelect() != null &&
+                   ((J.MethodInvocation) e).getSimpleName().startsWith("with")) {
+                e = Objects.requireNonNull(((J.MethodInvocation) e).getSelect());
+            }
+            if (!(e instanceof J.NewClass) || ((J.NewClass) e).getBody() != null ||
+                !TypeUtils.isAssignableTo(GENERIC_CONTAINER, e.getType())) {
+                return false;
+            }
+            AtomicBoolean usesInstanceState = new AtomicBoolean();
+            new JavaIsoVisitor<AtomicBoolean>() {
+                @Override
+                public J.Identifier visitIdentifier(J.Identifier identifier, AtomicBoolean found) {
+                    JavaType.Variable fieldType = identifier.getFieldType();
+                    if ("this".equals(identifier.getSimpleName()) || "super".equals(identifier.getSimpleName()) ||
+                        (fieldType != null && !fieldType.hasFlags(Flag.Static) && fieldType.getOwner() instanceof JavaType.FullyQualified)) {
+                        found.set(true);
+                    }
+                    return identifier;
+                }
+
+                @Override
+                public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, AtomicBoolean found) {
+                    if (method.getSelect() == null && (method.getMethodType() == null || !method.getMethodType().hasFlags(Flag.Static))) {
+                        found.set(true);
+                    }
+                    return super.visitMethodInvocation(method, found);
+                }
+            }.visit(expression, usesInstanceState);
+            return !usesInstanceState.get();
+        }
+    }
+}
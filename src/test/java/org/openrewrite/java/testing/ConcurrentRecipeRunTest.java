@@ -0,0 +1,360 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.Result;
+import org.openrewrite.SourceFile;
+import org.openrewrite.config.Environment;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.testing.internal.JavaParserPool;
+import org.openrewrite.java.testing.internal.JavaTemplateCache;
+import org.openrewrite.java.testing.internal.UsageIndex;
+import org.openrewrite.tree.ParseError;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Runs the same recipe instance on several threads at once and checks that every run
+ * produces exactly the output of a serial run, so that no visitor state leaks between
+ * source files or between runs, and that the state recipes share through the
+ * {@link ExecutionContext} stays consistent when used concurrently.
+ */
+class ConcurrentRecipeRunTest {
+
+    private static final int THREADS = 4;
+    private static final int RUNS = 8;
+
+    /**
+     * The messages under which {@link JavaTemplateCache}, {@link JavaParserPool}, {@link UsageIndex} and the
+     * metrics of {@link MeasureRecipePerformance} keep their state on the {@link ExecutionContext}.
+     */
+    private static final String[] SHARED_STATE_KEYS = {
+      JavaTemplateCache.class.getName(),
+      JavaParserPool.class.getName(),
+      UsageIndex.class.getName(),
+      MeasureRecipePerformance.class.getName() + ".METRICS"
+    };
+
+    //language=java
+    private static final String[] SOURCES = {
+      """
+        package org.example;
+
+        import org.junit.After;
+        import org.junit.Assert;
+        import org.junit.Before;
+        import org.junit.Rule;
+        import org.junit.Test;
+        import org.junit.rules.TestName;
+
+        public class JUnit4Test {
+            @Rule
+            public TestName name = new TestName();
+
+            @Before
+            public void setUp() {
+            }
+
+            @After
+            public void tearDown() {
+            }
+
+            @Test
+            public void testName() {
+                Assert.assertEquals("testName", name.getMethodName());
+            }
+        }
+        """,
+      """
+        package org.example;
+
+        import org.junit.jupiter.api.Test;
+
+        class NoAssertionsTest {
+            @Test
+            public void doesNothing() {
+                System.out.println("nothing");
+            }
+        }
+        """,
+      """
+        package org.example;
+
+        import mockit.Mock;
+        import mockit.MockUp;
+        import org.junit.Test;
+
+        import static org.junit.Assert.assertEquals;
+
+        public class MockUpTest {
+            @Test
+            public void test() {
+                new MockUp<MyClazz>() {
+                    @Mock
+                    public int staticMethod() {
+                        return 1024;
+                    }
+                };
+                assertEquals(1024, MyClazz.staticMethod());
+            }
+
+            public static class MyClazz {
+                public static int staticMethod() {
+                    return 0;
+                }
+            }
+        }
+        """,
+      """
+        package org.example;
+
+        import java.util.Calendar;
+
+        import org.junit.jupiter.api.Test;
+        import org.powermock.core.classloader.annotations.PrepareForTest;
+
+        import static org.mockito.Mockito.mockStatic;
+
+        @PrepareForTest({Calendar.class})
+        public class StaticJupiterTest {
+            @Test
+            void testStaticMethod() {
+                mockStatic(Calendar.class);
+            }
+        }
+        """,
+      """
+        package org.example;
+
+        import java.util.Calendar;
+
+        import org.powermock.core.classloader.annotations.PrepareForTest;
+        import org.testng.annotations.Test;
+
+        import static org.mockito.Mockito.mockStatic;
+
+        @PrepareForTest({Calendar.class})
+        public class StaticTestNGTest {
+            @Test
+            void testStaticMethod() {
+                mockStatic(Calendar.class);
+            }
+        }
+        """,
+      """
+        package org.example;
+
+        import org.junit.jupiter.api.Test;
+
+        import java.util.List;
+
+        import static org.hamcrest.MatcherAssert.assertThat;
+        import static org.hamcrest.Matchers.equalTo;
+        import static org.hamcrest.Matchers.hasSize;
+
+        class HamcrestTest {
+            @Test
+            void matches() {
+                List<String> names = List.of("a", "b");
+                assertThat(names, hasSize(2));
+                assertThat(names.get(0), equalTo("a"));
+            }
+        }
+        """,
+      """
+        package org.example;
+
+        import org.junit.jupiter.api.Test;
+
+        import java.util.List;
+
+        import static org.assertj.core.api.Assertions.assertThat;
+        import static org.junit.jupiter.api.Assertions.assertEquals;
+
+        class AssertjTest {
+            @Test
+            void asserts() {
+                List<String> names = List.of("a", "b");
+                assertThat(names.size()).isEqualTo(2);
+                assertThat(names.isEmpty()).isFalse();
+                assertEquals("a", names.get(0));
+            }
+        }
+        """,
+      """
+        package org.example;
+
+        import org.junit.jupiter.api.Test;
+        import org.testcontainers.containers.NginxContainer;
+
+        class NginxTest {
+            static NginxContainer shared = new NginxContainer();
+
+            static {
+                shared.start();
+            }
+
+            @Test
+            void host() {
+                System.out.println(shared.getHost());
+            }
+        }
+        """
+    };
+
+    @Test
+    void junit4to5Migration() throws Exception {
+        assertConcurrentRunsMatchSerialRun("org.openrewrite.java.testing.junit5.JUnit4to5Migration");
+    }
+
+    @Test
+    void bestPractices() throws Exception {
+        assertConcurrentRunsMatchSerialRun("org.openrewrite.java.testing.cleanup.BestPractices");
+    }
+
+    @Test
+    void jmockitToMockito() throws Exception {
+        assertConcurrentRunsMatchSerialRun("org.openrewrite.java.testing.jmockit.JMockitToMockito");
+    }
+
+    @Test
+    void replacePowerMockito() throws Exception {
+        assertConcurrentRunsMatchSerialRun("org.openrewrite.java.testing.mockito.ReplacePowerMockito");
+    }
+
+    @Test
+    void assertj() throws Exception {
+        assertConcurrentRunsMatchSerialRun("org.openrewrite.java.testing.assertj.Assertj");
+    }
+
+    @Test
+    void migrateHamcrestToAssertJ() throws Exception {
+        assertConcurrentRunsMatchSerialRun("org.openrewrite.java.testing.hamcrest.MigrateHamcrestToAssertJ");
+    }
+
+    @Test
+    void testContainersBestPractices() throws Exception {
+        assertConcurrentRunsMatchSerialRun("org.openrewrite.java.testing.testcontainers.TestContainersBestPractices");
+    }
+
+    @Test
+    void testContainersReuse() throws Exception {
+        assertConcurrentRunsMatchSerialRun("org.openrewrite.java.testing.testcontainers.TestContainersReuse");
+    }
+
+    @Test
+    void junit4to5MigrationSharingContextState() throws Exception {
+        Recipe recipe = new MeasureRecipePerformance("org.openrewrite.java.testing.junit5.JUnit4to5Migration");
+        List<SourceFile> sources = parse();
+        Map<String, String> expected = run(recipe, sources, new InMemoryExecutionContext());
+
+        // Warm up the shared state with a serial run, then hand it to every concurrent run
+        ExecutionContext shared = new InMemoryExecutionContext();
+        assertThat(run(recipe, sources, shared)).isEqualTo(expected);
+        for (String key : SHARED_STATE_KEYS) {
+            assertThat((Object) shared.getMessage(key)).as(key).isNotNull();
+        }
+        assertConcurrentRunsMatch(expected, () -> {
+            ExecutionContext ctx = new InMemoryExecutionContext();
+            for (String key : SHARED_STATE_KEYS) {
+                ctx.putMessage(key, shared.getMessage(key));
+            }
+            return run(recipe, sources, ctx);
+        });
+    }
+
+    private static void assertConcurrentRunsMatchSerialRun(String recipeName) throws Exception {
+        Recipe recipe = Environment.builder()
+          .scanRuntimeClasspath("org.openrewrite.java.testing")
+          .build()
+          .activateRecipes(recipeName);
+        List<SourceFile> sources = parse();
+
+        Map<String, String> expected = run(recipe, sources, new InMemoryExecutionContext());
+        assertConcurrentRunsMatch(expected, () -> run(recipe, sources, new InMemoryExecutionContext()));
+    }
+
+    private static void assertConcurrentRunsMatch(Map<String, String> expected, Callable<Map<String, String>> run) throws Exception {
+        assertThat(expected).isNotEmpty();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Map<String, String>>> futures = new ArrayList<>();
+            for (int i = 0; i < RUNS; i++) {
+                futures.add(executor.submit(run));
+            }
+            for (Future<Map<String, String>> future : futures) {
+                assertThat(future.get()).isEqualTo(expected);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<SourceFile> parse() {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> fail("Failed to parse", t));
+        List<Path> classpath = new ArrayList<>(JavaParser.dependenciesFromResources(ctx,
+          "apiguardian-api-1.1",
+          "assertj-core-3.24",
+          "hamcrest-2.2",
+          "jmockit-1.49",
+          "junit-4.13",
+          "junit-jupiter-api-5.9",
+          "mockito-core-3.12",
+          "powermock-api-mockito-1.6",
+          "powermock-core-1.6",
+          "testng-7.7"));
+        classpath.addAll(JavaParser.dependenciesFromClasspath("nginx", "testcontainers"));
+        List<SourceFile> sources = JavaParser.fromJavaVersion()
+          .classpath(classpath)
+          .build()
+          .parse(ctx, SOURCES)
+          .collect(Collectors.toList());
+        assertThat(sources).noneMatch(ParseError.class::isInstance);
+        return sources;
+    }
+
+    private static Map<String, String> run(Recipe recipe, List<SourceFile> sources, ExecutionContext ctx) {
+        List<Result> results = recipe.run(new InMemoryLargeSourceSet(sources), ctx)
+          .getChangeset()
+          .getAllResults();
+        Map<String, String> printed = new TreeMap<>();
+        for (Result result : results) {
+            SourceFile before = result.getBefore();
+            SourceFile after = result.getAfter();
+            String path = (after != null ? after : before).getSourcePath().toString();
+            printed.put(path, after == null ? "" : after.printAll());
+        }
+        return printed;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.testing.table.RecipePerformance;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class MeasureRecipePerformanceTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "junit-4.13"))
+          .recipe(new MeasureRecipePerformance("org.openrewrite.java.testing.junit5.AssertToAssertions"));
+    }
+
+    @Test
+    void recordsMeasuredRecipe() {
+        rewriteRun(
+          spec -> spec.dataTable(RecipePerformance.Row.class, rows -> {
+              assertThat(rows).singleElement().satisfies(row -> {
+                  assertThat(row.getRecipe()).isEqualTo("org.openrewrite.java.testing.junit5.AssertToAssertions");
+                  assertThat(row.getSourceFilesVisited()).isPositive();
+                  assertThat(row.getSourceFilesChanged()).isPositive();
+                  assertThat(row.getPreconditionRejections()).isPositive();
+              });
+          }),
+          //language=java
+          java(
+            """
+              import org.junit.Assert;
+
+              class MyTest {
+                  void test() {
+                      Assert.assertTrue(true);
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Assertions;
+
+              class MyTest {
+                  void test() {
+                      Assertions.assertTrue(true);
+                  }
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              class Unrelated {
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void recordsCachedTemplateLookups() {
+        rewriteRun(
+          spec -> spec
+            .parser(JavaParser.fromJavaVersion()
+              .classpathFromResources(new InMemoryExecutionContext(), "junit-jupiter-api-5.9"))
+            .recipe(new MeasureRecipePerformance("org.openrewrite.java.testing.cleanup.TestsShouldIncludeAssertions"))
+            .dataTable(RecipePerformance.Row.class, rows -> {
+                // The second test method reuses the template built for the first one
+                assertThat(rows).singleElement().satisfies(row -> {
+                    assertThat(row.getCachedTemplateLookups()).isEqualTo(2);
+                    assertThat(row.getTemplateCacheHitRate()).isEqualTo(0.5);
+                });
+            }),
+          //language=java
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              class MyTest {
+                  @Test
+                  void first() {
+                      System.out.println("first");
+                  }
+
+                  @Test
+                  void second() {
+                      System.out.println("second");
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+
+              class MyTest {
+                  @Test
+                  void first() {
+                      assertDoesNotThrow(() -> {
+                          System.out.println("first");
+                      });
+                  }
+
+                  @Test
+                  void second() {
+                      assertDoesNotThrow(() -> {
+                          System.out.println("second");
+                      });
+                  }
+              }
+              """
+          )
+        );
+    }
+}
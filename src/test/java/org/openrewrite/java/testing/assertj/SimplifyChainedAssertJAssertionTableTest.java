@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.assertj;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class SimplifyChainedAssertJAssertionTableTest implements RewriteTest {
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "assertj-core-3.24"))
+          .recipe(new SimplifyChainedAssertJAssertionTable());
+    }
+
+    @Test
+    @DocumentExample
+    void simplifiesDifferentChainsInOnePass() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import java.io.File;
+              import java.util.List;
+
+              import static org.assertj.core.api.Assertions.assertThat;
+
+              class MyTest {
+                  void testMethod(String s, File file, List<String> list) {
+                      assertThat(s.isEmpty()).isTrue();
+                      assertThat(file.exists()).isTrue();
+                      assertThat(list.size()).isEqualTo(2);
+                  }
+              }
+              """,
+            """
+              import java.io.File;
+              import java.util.List;
+
+              import static org.assertj.core.api.Assertions.assertThat;
+
+              class MyTest {
+                  void testMethod(String s, File file, List<String> list) {
+                      assertThat(s).isEmpty();
+                      assertThat(file).exists();
+                      assertThat(list).hasSize(2);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void simplifiesSimplifiedAssertionAgain() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import java.util.Map;
+
+              import static org.assertj.core.api.Assertions.assertThat;
+
+              class MyTest {
+                  void testMethod(Map<String, String> map) {
+                      assertThat(map.keySet().contains("a")).isTrue();
+                  }
+              }
+              """,
+            """
+              import java.util.Map;
+
+              import static org.assertj.core.api.Assertions.assertThat;
+
+              class MyTest {
+                  void testMethod(Map<String, String> map) {
+                      assertThat(map).containsKey("a");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void noChangeWhenTypeDoesNotMatch() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import static org.assertj.core.api.Assertions.assertThat;
+
+              class MyTest {
+                  void testMethod(StringBuilder sb) {
+                      assertThat(sb.length()).isZero();
+                  }
+              }
+              """
+          )
+        );
+    }
+}
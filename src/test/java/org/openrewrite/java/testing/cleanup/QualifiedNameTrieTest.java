@@ -0,0 +1,138 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.cleanup;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+class QualifiedNameTrieTest {
+
+    private static final Map<String, JavaType.Method> METHODS = new HashMap<>();
+
+    @BeforeAll
+    static void parse() {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> fail("Failed to parse", t));
+        JavaParser.fromJavaVersion().build().parse(ctx,
+          //language=java
+          """
+            package org.foo;
+
+            public class Checks {
+                public static void check(boolean condition) {
+                }
+
+                public static void checkAll(boolean... conditions) {
+                }
+
+                public static class Nested {
+                    public static void check(boolean condition) {
+                    }
+                }
+            }
+            """,
+          //language=java
+          """
+            package org.bar;
+
+            public class Other {
+                public static void check(boolean condition) {
+                }
+            }
+            """,
+          //language=java
+          """
+            package org.baz;
+
+            import org.bar.Other;
+            import org.foo.Checks;
+
+            class Calls {
+                void calls() {
+                    Checks.check(true);
+                    Checks.checkAll(true);
+                    Checks.Nested.check(true);
+                    Other.check(true);
+                }
+            }
+            """
+        ).forEach(cu -> new JavaIsoVisitor<Integer>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Integer p) {
+                JavaType.Method methodType = requireNonNull(method.getMethodType());
+                METHODS.put(methodType.getDeclaringType().getFullyQualifiedName().replace('$', '.') + "#" + methodType.getName(), methodType);
+                return method;
+            }
+        }.visit(cu, 0));
+        assertThat(METHODS).containsOnlyKeys("org.foo.Checks#check", "org.foo.Checks#checkAll", "org.foo.Checks.Nested#check", "org.bar.Other#check");
+    }
+
+    @Test
+    void packagePrefix() {
+        QualifiedNameTrie trie = QualifiedNameTrie.of(List.of("org.foo"));
+        assertThat(trie.matches(METHODS.get("org.foo.Checks#check"))).isTrue();
+        assertThat(trie.matches(METHODS.get("org.foo.Checks.Nested#check"))).isTrue();
+        assertThat(trie.matches(METHODS.get("org.bar.Other#check"))).isFalse();
+    }
+
+    @Test
+    void type() {
+        QualifiedNameTrie trie = QualifiedNameTrie.of(List.of("org.bar.Other"));
+        assertThat(trie.matches(METHODS.get("org.bar.Other#check"))).isTrue();
+        assertThat(trie.matches(METHODS.get("org.foo.Checks#check"))).isFalse();
+    }
+
+    @Test
+    void exactMethod() {
+        QualifiedNameTrie trie = QualifiedNameTrie.of(List.of("org.foo.Checks.check"));
+        assertThat(trie.matches(METHODS.get("org.foo.Checks#check"))).isTrue();
+        assertThat(trie.matches(METHODS.get("org.foo.Checks#checkAll")))
+          .as("a method name is matched exactly, not as a prefix").isFalse();
+        assertThat(trie.matches(METHODS.get("org.foo.Checks.Nested#check"))).isFalse();
+        assertThat(trie.matches(METHODS.get("org.bar.Other#check"))).isFalse();
+    }
+
+    @Test
+    void nestedType() {
+        for (String nested : List.of("org.foo.Checks.Nested", "org.foo.Checks$Nested", "org.foo.Checks.Nested.check")) {
+            QualifiedNameTrie trie = QualifiedNameTrie.of(List.of(nested));
+            assertThat(trie.matches(METHODS.get("org.foo.Checks.Nested#check"))).as(nested).isTrue();
+            assertThat(trie.matches(METHODS.get("org.foo.Checks#check"))).as(nested).isFalse();
+        }
+    }
+
+    @Test
+    void combinedEntries() {
+        QualifiedNameTrie trie = QualifiedNameTrie.of(List.of("", "org.bar", "org.foo.Checks.checkAll"));
+        assertThat(trie.matches(METHODS.get("org.bar.Other#check"))).isTrue();
+        assertThat(trie.matches(METHODS.get("org.foo.Checks#checkAll"))).isTrue();
+        assertThat(trie.matches(METHODS.get("org.foo.Checks#check"))).isFalse();
+        assertThat(trie.matches((JavaType.Method) null)).isFalse();
+    }
+}
@@ -413,4 +413,51 @@ class RemoveTestPrefixTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void renameCallsAndReferencesOfSeveralMethods() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+            import org.junit.jupiter.api.Test;
+
+            class FooTest {
+                @Test
+                void testFoo() {
+                    testBar();
+                }
+
+                @Test
+                void testBar() {
+                    Runnable r = this::testFoo;
+                }
+
+                @Test
+                void test_bar() {
+                }
+            }
+            """,
+            """
+            import org.junit.jupiter.api.Test;
+
+            class FooTest {
+                @Test
+                void foo() {
+                    bar();
+                }
+
+                @Test
+                void bar() {
+                    Runnable r = this::foo;
+                }
+
+                @Test
+                void test_bar() {
+                }
+            }
+            """
+          )
+        );
+    }
 }
@@ -208,6 +208,168 @@ class TestsShouldIncludeAssertionsTest implements RewriteTest {
         );
     }
 
+    @SuppressWarnings("CodeBlock2Expr")
+    @Test
+    void methodBodyContainsTransitiveHelperWithAssert() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import java.util.Set;
+              import org.junit.jupiter.api.Test;
+              
+              import static org.junit.Assert.assertTrue;
+              
+              public class TestClass {
+                  @Test
+                  public void doesNotChange() {
+                      verifyHello(Set.of("hello"));
+                  }
+                  @Test
+                  public void changes() {
+                      System.out.println("No assertion reached");
+                  }
+              
+                  private static void verifyHello(Set<String> set) {
+                      testContains(set, "hello");
+                  }
+              
+                  private static void testContains(Set<String> set, String word) {
+                      assertTrue(set.contains(word));
+                  }
+              }
+              """,
+            """
+              import java.util.Set;
+              import org.junit.jupiter.api.Test;
+              
+              import static org.junit.Assert.assertTrue;
+              import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+              
+              public class TestClass {
+                  @Test
+                  public void doesNotChange() {
+                      verifyHello(Set.of("hello"));
+                  }
+                  @Test
+                  public void changes() {
+                      assertDoesNotThrow(() -> {
+                          System.out.println("No assertion reached");
+                      });
+                  }
+              
+                  private static void verifyHello(Set<String> set) {
+                      testContains(set, "hello");
+                  }
+              
+                  private static void testContains(Set<String> set, String word) {
+                      assertTrue(set.contains(word));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void helperInAnotherSourceFileReachesAssertion() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              package org.foo;
+              
+              import java.util.Set;
+              
+              import static org.junit.jupiter.api.Assertions.assertTrue;
+              
+              public class TestUtil {
+                  public static void verifyHello(Set<String> set) {
+                      verifyContains(set, "hello");
+                  }
+              
+                  private static void verifyContains(Set<String> set, String word) {
+                      assertTrue(set.contains(word));
+                  }
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              import java.util.Set;
+              import org.foo.TestUtil;
+              import org.junit.jupiter.api.Test;
+              
+              public class TestClass {
+                  @Test
+                  public void doesNotChange() {
+                      TestUtil.verifyHello(Set.of("hello"));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void genericHelperInAnotherSourceFileReachesAssertion() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              package org.foo;
+
+              import java.util.Collection;
+              import java.util.List;
+
+              import static org.junit.jupiter.api.Assertions.assertNotNull;
+              import static org.junit.jupiter.api.Assertions.assertTrue;
+
+              public class TestUtil {
+                  public static <T> void verifyPresent(T value) {
+                      assertNotNull(value);
+                  }
+
+                  public static <T extends Collection<String>> void verifyNotEmpty(T values) {
+                      assertTrue(!values.isEmpty());
+                  }
+
+                  public static void verifyFirst(List<String> values, String first) {
+                      assertTrue(values.get(0).equals(first));
+                  }
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              import java.util.ArrayList;
+              import java.util.List;
+              import org.foo.TestUtil;
+              import org.junit.jupiter.api.Test;
+
+              public class TestClass {
+                  @Test
+                  public void typeVariable() {
+                      TestUtil.verifyPresent("hello");
+                  }
+
+                  @Test
+                  public void boundedTypeVariable() {
+                      TestUtil.verifyNotEmpty(new ArrayList<>(List.of("hello")));
+                  }
+
+                  @Test
+                  public void parameterizedType() {
+                      TestUtil.verifyFirst(List.of("hello"), "hello");
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @SuppressWarnings("CodeBlock2Expr")
     @Issue("https://github.com/openrewrite/rewrite-testing-frameworks/issues/201")
     @Test
@@ -532,4 +532,39 @@ class TestsShouldNotBePublicTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void genericBaseclassForTestsNeedsToStayPublic() {
+        //language=java
+        rewriteRun(
+          spec -> spec.recipe(new TestsShouldNotBePublic(true)),
+          java(
+            """
+              package com.hello;
+
+              import org.junit.jupiter.api.Test;
+
+              public class MyTestBase<T> {
+                @Test
+                void isWorking() {
+                }
+              }
+              """
+          ),
+          java(
+            """
+              package com.world;
+
+              import com.hello.MyTestBase;
+              import org.junit.jupiter.api.Test;
+
+              class MyTest extends MyTestBase<String> {
+                @Test
+                void isAlsoWorking() {
+                }
+              }
+              """
+          )
+        );
+    }
 }
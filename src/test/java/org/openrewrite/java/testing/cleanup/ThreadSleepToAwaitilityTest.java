@@ -0,0 +1,373 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.cleanup;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.testing.table.ThreadSleepsNotMigrated;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+import org.openrewrite.test.TypeValidation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.java.Assertions.mavenProject;
+import static org.openrewrite.java.Assertions.srcTestJava;
+import static org.openrewrite.maven.Assertions.pomXml;
+
+class ThreadSleepToAwaitilityTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "junit-jupiter-api-5.9"))
+          .recipe(new ThreadSleepToAwaitility());
+    }
+
+    @DocumentExample
+    @Test
+    void sleepBeforeAssertion() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.util.concurrent.atomic.AtomicInteger;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+
+              class AsyncTest {
+                  @Test
+                  void counter() throws InterruptedException {
+                      AtomicInteger counter = new AtomicInteger();
+                      new Thread(counter::incrementAndGet).start();
+                      Thread.sleep(500);
+                      assertEquals(1, counter.get());
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.time.Duration;
+              import java.util.concurrent.atomic.AtomicInteger;
+
+              import static org.awaitility.Awaitility.await;
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+
+              class AsyncTest {
+                  @Test
+                  void counter() throws InterruptedException {
+                      AtomicInteger counter = new AtomicInteger();
+                      new Thread(counter::incrementAndGet).start();
+                      await().atMost(Duration.ofMillis(1000)).pollInterval(Duration.ofMillis(10)).untilAsserted(() -> assertEquals(1, counter.get()));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void sleepBeforeSeveralAssertions() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.util.concurrent.atomic.AtomicInteger;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+              import static org.junit.jupiter.api.Assertions.assertTrue;
+
+              class AsyncTest {
+                  @Test
+                  void counter() throws InterruptedException {
+                      AtomicInteger counter = new AtomicInteger();
+                      new Thread(counter::incrementAndGet).start();
+                      Thread.sleep(500);
+                      assertEquals(1, counter.get());
+                      assertTrue(counter.get() > 0);
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.time.Duration;
+              import java.util.concurrent.atomic.AtomicInteger;
+
+              import static org.awaitility.Awaitility.await;
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+              import static org.junit.jupiter.api.Assertions.assertTrue;
+
+              class AsyncTest {
+                  @Test
+                  void counter() throws InterruptedException {
+                      AtomicInteger counter = new AtomicInteger();
+                      new Thread(counter::incrementAndGet).start();
+                      await().atMost(Duration.ofMillis(1000)).pollInterval(Duration.ofMillis(10)).untilAsserted(() -> {
+                          assertEquals(1, counter.get());
+                          assertTrue(counter.get() > 0);
+                      });
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void sleepForConstant() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.util.concurrent.atomic.AtomicInteger;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+
+              class AsyncTest {
+                  private static final long DELAY = 500;
+
+                  @Test
+                  void counter() throws InterruptedException {
+                      AtomicInteger counter = new AtomicInteger();
+                      new Thread(counter::incrementAndGet).start();
+                      Thread.sleep(DELAY);
+                      assertEquals(1, counter.get());
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.time.Duration;
+              import java.util.concurrent.atomic.AtomicInteger;
+
+              import static org.awaitility.Awaitility.await;
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+
+              class AsyncTest {
+                  private static final long DELAY = 500;
+
+                  @Test
+                  void counter() throws InterruptedException {
+                      AtomicInteger counter = new AtomicInteger();
+                      new Thread(counter::incrementAndGet).start();
+                      await().atMost(Duration.ofMillis(DELAY).multipliedBy(2)).pollInterval(Duration.ofMillis(10)).untilAsserted(() -> assertEquals(1, counter.get()));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void addsAwaitilityDependency() {
+        rewriteRun(
+          // The Awaitility usage is only seen by the scanner of the next cycle, which then adds the dependency
+          spec -> spec.expectedCyclesThatMakeChanges(2),
+          mavenProject("project",
+            //language=java
+            srcTestJava(java(
+              """
+                import org.junit.jupiter.api.Test;
+
+                import java.util.concurrent.atomic.AtomicInteger;
+
+                import static org.junit.jupiter.api.Assertions.assertEquals;
+
+                class AsyncTest {
+                    @Test
+                    void counter() throws InterruptedException {
+                        AtomicInteger counter = new AtomicInteger();
+                        new Thread(counter::incrementAndGet).start();
+                        Thread.sleep(500);
+                        assertEquals(1, counter.get());
+                    }
+                }
+                """,
+              """
+                import org.junit.jupiter.api.Test;
+
+                import java.time.Duration;
+                import java.util.concurrent.atomic.AtomicInteger;
+
+                import static org.awaitility.Awaitility.await;
+                import static org.junit.jupiter.api.Assertions.assertEquals;
+
+                class AsyncTest {
+                    @Test
+                    void counter() throws InterruptedException {
+                        AtomicInteger counter = new AtomicInteger();
+                        new Thread(counter::incrementAndGet).start();
+                        await().atMost(Duration.ofMillis(1000)).pollInterval(Duration.ofMillis(10)).untilAsserted(() -> assertEquals(1, counter.get()));
+                    }
+                }
+                """
+            )),
+            pomXml(
+              //language=xml
+              """
+                <project>
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>org.example</groupId>
+                    <artifactId>project</artifactId>
+                    <version>0.0.1</version>
+                </project>
+                """,
+              spec -> spec.after(pom -> {
+                  assertThat(pom)
+                    .contains("<artifactId>awaitility</artifactId>")
+                    .containsPattern("<version>4\\.\\d+\\.\\d+</version>")
+                    .contains("<scope>test</scope>");
+                  return pom;
+              })
+            )
+          )
+        );
+    }
+
+    @Test
+    void reportsSleepsThatAreNotSafeToReplace() {
+        rewriteRun(
+          spec -> spec.dataTable(ThreadSleepsNotMigrated.Row.class, rows -> assertThat(rows)
+            .extracting(ThreadSleepsNotMigrated.Row::getTestMethod, ThreadSleepsNotMigrated.Row::getReason)
+            .containsExactly(
+              tuple("notFollowedByAssertion", "Not directly followed by an assertion"),
+              tuple("reassignedVariable", "Assertions use local variables that are not effectively final: count"),
+              tuple("shorterThanPollInterval", "Sleeps shorter than the 10 ms poll interval are not supported"))),
+          //language=java
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+
+              class AsyncTest {
+                  @Test
+                  void notFollowedByAssertion() throws InterruptedException {
+                      Thread.sleep(100);
+                      System.out.println("done");
+                  }
+
+                  @Test
+                  void reassignedVariable() throws InterruptedException {
+                      int count = 0;
+                      count++;
+                      Thread.sleep(100);
+                      assertEquals(1, count);
+                  }
+
+                  @Test
+                  void shorterThanPollInterval() throws InterruptedException {
+                      Thread.sleep(5);
+                      assertEquals(1, 1);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void reportsNegativeChecks() {
+        rewriteRun(
+          spec -> spec
+            .parser(JavaParser.fromJavaVersion()
+              .classpathFromResources(new InMemoryExecutionContext(), "junit-jupiter-api-5.9", "mockito-core-3.12"))
+            .dataTable(ThreadSleepsNotMigrated.Row.class, rows -> assertThat(rows)
+              .extracting(ThreadSleepsNotMigrated.Row::getTestMethod, ThreadSleepsNotMigrated.Row::getReason)
+              .containsExactly(
+                tuple("notCalled", "Assertions check that something did not happen, which polling would accept right away: assertFalse"),
+                tuple("notCounted", "Assertions check that something did not happen, which polling would accept right away: assertEquals"),
+                tuple("noInteractions", "Assertions check that something did not happen, which polling would accept right away: verifyNoInteractions")))),
+          //language=java
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.util.concurrent.atomic.AtomicBoolean;
+              import java.util.concurrent.atomic.AtomicInteger;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+              import static org.junit.jupiter.api.Assertions.assertFalse;
+              import static org.mockito.Mockito.verifyNoInteractions;
+
+              class AsyncTest {
+                  @Test
+                  void notCalled() throws InterruptedException {
+                      AtomicBoolean called = new AtomicBoolean();
+                      Thread.sleep(500);
+                      assertFalse(called.get());
+                  }
+
+                  @Test
+                  void notCounted() throws InterruptedException {
+                      AtomicInteger count = new AtomicInteger();
+                      Thread.sleep(500);
+                      assertEquals(0, count.get());
+                  }
+
+                  @Test
+                  void noInteractions(Runnable mock) throws InterruptedException {
+                      Thread.sleep(500);
+                      verifyNoInteractions(mock);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void leavesDurationSleepsUnchanged() {
+        rewriteRun(
+          // `Thread.sleep(Duration)` only exists from Java 19 on, so it is not attributed by the Java 17 parser
+          spec -> spec.typeValidationOptions(TypeValidation.none()),
+          //language=java
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.time.Duration;
+              import java.util.concurrent.atomic.AtomicInteger;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+
+              class AsyncTest {
+                  @Test
+                  void counter() throws InterruptedException {
+                      AtomicInteger counter = new AtomicInteger();
+                      new Thread(counter::incrementAndGet).start();
+                      Thread.sleep(Duration.ofMillis(500));
+                      assertEquals(1, counter.get());
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.hamcrest;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class HamcrestMatchersToAssertJTest implements RewriteTest {
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(),
+              "junit-jupiter-api-5.9",
+              "hamcrest-2.2",
+              "assertj-core-3.24"))
+          .recipe(new HamcrestMatchersToAssertJ());
+    }
+
+    @DocumentExample
+    @Test
+    void mixedMatchersInSinglePass() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+              
+              import java.util.List;
+              
+              import static org.hamcrest.MatcherAssert.assertThat;
+              import static org.hamcrest.Matchers.*;
+              
+              class ATest {
+                  @Test
+                  void test(String str, List<String> list) {
+                      assertThat(str, equalTo("a"));
+                      assertThat("reason", str, startsWith("a"));
+                      assertThat(str, not(containsString("b")));
+                      assertThat(list, hasSize(2));
+                      assertThat(str, is("a"));
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+              
+              import java.util.List;
+              
+              import static org.assertj.core.api.Assertions.assertThat;
+              
+              class ATest {
+                  @Test
+                  void test(String str, List<String> list) {
+                      assertThat(str).isEqualTo("a");
+                      assertThat(str).as("reason").startsWith("a");
+                      assertThat(str).doesNotContain("b");
+                      assertThat(list).hasSize(2);
+                      assertThat(str).isEqualTo("a");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void isMatcherOnArrayAndObjectInSameFile() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+              
+              import static org.hamcrest.MatcherAssert.assertThat;
+              import static org.hamcrest.Matchers.is;
+              
+              class ATest {
+                  @Test
+                  void test(String[] actual, String[] expected, String str) {
+                      assertThat(actual, is(expected));
+                      assertThat(str, is("a"));
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+              
+              import static org.assertj.core.api.Assertions.assertThat;
+              
+              class ATest {
+                  @Test
+                  void test(String[] actual, String[] expected, String str) {
+                      assertThat(actual).containsExactly(expected);
+                      assertThat(str).isEqualTo("a");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void typeSpecificMatcherTakesPrecedence() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+              
+              import java.util.Date;
+              
+              import static org.hamcrest.MatcherAssert.assertThat;
+              import static org.hamcrest.Matchers.lessThan;
+              
+              class ATest {
+                  @Test
+                  void test(Date first, Date second, Integer a, Integer b) {
+                      assertThat(first, lessThan(second));
+                      assertThat(a, lessThan(b));
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+              
+              import java.util.Date;
+              
+              import static org.assertj.core.api.Assertions.assertThat;
+              
+              class ATest {
+                  @Test
+                  void test(Date first, Date second, Integer a, Integer b) {
+                      assertThat(first).isBefore(second);
+                      assertThat(a).isLessThan(b);
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.test.RewriteTest.toRecipe;
+
+class ChangeTypesTest implements RewriteTest {
+
+    private static final Map<String, String> LIFECYCLE_ANNOTATIONS = new LinkedHashMap<>();
+
+    static {
+        LIFECYCLE_ANNOTATIONS.put("org.junit.Before", "org.junit.jupiter.api.BeforeEach");
+        LIFECYCLE_ANNOTATIONS.put("org.junit.After", "org.junit.jupiter.api.AfterEach");
+    }
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "junit-4.13", "junit-jupiter-api-5.9"))
+          .recipe(toRecipe(() -> new ChangeTypes(LIFECYCLE_ANNOTATIONS)));
+    }
+
+    @Test
+    void changesSeveralTypesAndTheirImports() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.After;
+              import org.junit.Before;
+
+              class MyTest {
+                  @Before
+                  void before() {
+                  }
+
+                  @After
+                  void after() {
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.AfterEach;
+              import org.junit.jupiter.api.BeforeEach;
+
+              class MyTest {
+                  @BeforeEach
+                  void before() {
+                  }
+
+                  @AfterEach
+                  void after() {
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void removesUnusedImportOfChangedType() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.After;
+              import org.junit.Before;
+
+              class MyTest {
+                  @Before
+                  void before() {
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.BeforeEach;
+
+              class MyTest {
+                  @BeforeEach
+                  void before() {
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.TypeUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JavaParserPoolTest {
+
+    @Test
+    void configuringBuilderDoesNotLeakIntoPool() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        JavaParser.Builder<?, ?> configured = JavaParserPool.fromResources(ctx)
+          .dependsOn("package b; public class B {}");
+
+        assertThat(fieldTypeIsB(configured, ctx)).isTrue();
+        assertThat(fieldTypeIsB(JavaParserPool.fromResources(ctx), ctx)).isFalse();
+    }
+
+    private static boolean fieldTypeIsB(JavaParser.Builder<?, ?> builder, ExecutionContext ctx) {
+        J.CompilationUnit cu = builder.build()
+          .parse(ctx, "import b.B; class A { B b; }")
+          .map(J.CompilationUnit.class::cast)
+          .findFirst()
+          .orElseThrow();
+        J.VariableDeclarations field = (J.VariableDeclarations) cu.getClasses().get(0).getBody().getStatements().get(0);
+        return TypeUtils.isOfClassType(field.getType(), "b.B");
+    }
+}
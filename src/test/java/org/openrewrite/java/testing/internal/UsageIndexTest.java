@@ -0,0 +1,204 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.tree.J;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * {@link IndexedUsesType} and {@link IndexedUsesMethod} must answer exactly like {@link UsesType} and
+ * {@link UsesMethod}, which they replace as preconditions.
+ */
+class UsageIndexTest {
+
+    //language=java
+    private static final String SOURCE = """
+      package org.example;
+
+      import java.util.ArrayList;
+      import java.util.List;
+      import java.util.Map;
+
+      import org.junit.Test;
+
+      import static org.junit.Assert.*;
+      import static org.junit.Assert.assertEquals;
+
+      public class UsesTest {
+          private final List<String> list = new ArrayList<>();
+
+          @Test
+          public void test(Map.Entry<String, String> entry) {
+              assertEquals(1, list.size());
+              assertTrue(list.isEmpty());
+              assertNotNull(entry.getKey());
+          }
+      }
+      """;
+
+    private static final String[] TYPE_PATTERNS = {
+      "org.junit.Test",
+      "org.junit.Assert",
+      "org.junit.Ignore",
+      "org.junit.jupiter.api.Test",
+      "java.util.List",
+      "java.util.ArrayList",
+      "java.util.Collection",
+      "java.util.AbstractList",
+      "java.lang.Iterable",
+      "java.util.Map",
+      "java.util.Map.Entry",
+      "java.util.Map$Entry",
+      "org.junit.*",
+      "org.junit..*",
+      "org.junit.jupiter..*",
+      "java.util.*",
+      "java..*",
+      "*..Assert",
+      "java.util.*List"
+    };
+
+    private static final String[] METHOD_PATTERNS = {
+      "org.junit.Assert assertEquals(..)",
+      "org.junit.Assert assertEquals(long, long)",
+      "org.junit.Assert assertEquals(Object, Object)",
+      "org.junit.Assert assertTrue(boolean)",
+      "org.junit.Assert assertNotNull(..)",
+      "org.junit.Assert assertFalse(..)",
+      "org.junit.Assert assert*(..)",
+      "org.junit.Assert *(..)",
+      "java.util.List size()",
+      "java.util.Collection size()",
+      "java.util.Collection isEmpty()",
+      "java.util.Map.Entry getKey()",
+      "java.util.Map$Entry getValue()",
+      "*..* isEmpty()",
+      "org.junit.jupiter.api.Assertions assertEquals(..)"
+    };
+
+    @Test
+    void typesMatchUsesType() {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> fail("Failed to parse", t));
+        SourceFile cu = parse(ctx, SOURCE).get(0);
+
+        for (String pattern : TYPE_PATTERNS) {
+            for (boolean includeImplicit : new boolean[]{false, true}) {
+                assertThat(found(new IndexedUsesType(pattern, includeImplicit), cu, ctx))
+                  .as("%s, includeImplicit=%s", pattern, includeImplicit)
+                  .isEqualTo(found(new UsesType<>(pattern, includeImplicit), cu, ctx));
+            }
+        }
+    }
+
+    @Test
+    void typesInUse() {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> fail("Failed to parse", t));
+        SourceFile cu = parse(ctx, SOURCE).get(0);
+
+        assertThat(found(new IndexedUsesType("org.junit.Assert", false), cu, ctx))
+          .as("type of static imports").isTrue();
+        assertThat(found(new IndexedUsesType("java.util.Map.Entry", false), cu, ctx))
+          .as("nested type").isTrue();
+        assertThat(found(new IndexedUsesType("org.junit.*", false), cu, ctx))
+          .as("package wildcard").isTrue();
+        assertThat(found(new IndexedUsesType("java.util.Collection", false), cu, ctx))
+          .as("supertype without includeImplicit").isFalse();
+        assertThat(found(new IndexedUsesType("java.util.Collection", true), cu, ctx))
+          .as("supertype with includeImplicit").isTrue();
+        assertThat(found(new IndexedUsesType("org.junit.jupiter..*", true), cu, ctx)).isFalse();
+    }
+
+    @Test
+    void methodsMatchUsesMethod() {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> fail("Failed to parse", t));
+        SourceFile cu = parse(ctx, SOURCE).get(0);
+
+        for (String pattern : METHOD_PATTERNS) {
+            for (boolean matchOverrides : new boolean[]{false, true}) {
+                assertThat(found(new IndexedUsesMethod(pattern, matchOverrides), cu, ctx))
+                  .as("%s, matchOverrides=%s", pattern, matchOverrides)
+                  .isEqualTo(found(new UsesMethod<>(pattern, matchOverrides), cu, ctx));
+            }
+            MethodMatcher matcher = new MethodMatcher(pattern);
+            assertThat(found(new IndexedUsesMethod(matcher), cu, ctx))
+              .as("%s as MethodMatcher", pattern)
+              .isEqualTo(found(new UsesMethod<>(matcher), cu, ctx));
+        }
+    }
+
+    @Test
+    void methodsInUse() {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> fail("Failed to parse", t));
+        SourceFile cu = parse(ctx, SOURCE).get(0);
+
+        assertThat(found(new IndexedUsesMethod("org.junit.Assert assertTrue(boolean)"), cu, ctx))
+          .as("method of wildcard static import").isTrue();
+        assertThat(found(new IndexedUsesMethod("java.util.Collection size()", true), cu, ctx))
+          .as("override with matchOverrides").isTrue();
+        assertThat(found(new IndexedUsesMethod("org.junit.Assert assertFalse(..)"), cu, ctx)).isFalse();
+    }
+
+    @Test
+    void changedSourceFileGetsNewIndex() {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> fail("Failed to parse", t));
+        J.CompilationUnit cu = (J.CompilationUnit) parse(ctx, SOURCE).get(0);
+        J.CompilationUnit withoutImports = cu.withImports(List.of());
+
+        assertThat(UsageIndex.of(cu, ctx))
+          .isSameAs(UsageIndex.of(cu, ctx))
+          .isNotSameAs(UsageIndex.of(withoutImports, ctx));
+    }
+
+    @Test
+    void cachedIndexesAreBounded() {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> fail("Failed to parse", t));
+        List<SourceFile> sourceFiles = parse(ctx, IntStream.range(0, UsageIndex.MAX_CACHED_INDEXES * 2)
+          .mapToObj(i -> "class A" + i + " { java.util.List<String> list; }")
+          .toArray(String[]::new));
+
+        for (SourceFile sourceFile : sourceFiles) {
+            assertThat(found(new IndexedUsesType("java.util.List", false), sourceFile, ctx)).isTrue();
+        }
+        assertThat(UsageIndex.cachedIndexes(ctx)).isEqualTo(UsageIndex.MAX_CACHED_INDEXES);
+    }
+
+    private static boolean found(TreeVisitor<?, ExecutionContext> precondition, SourceFile sourceFile, ExecutionContext ctx) {
+        return precondition.visit(sourceFile, ctx) != sourceFile;
+    }
+
+    private static List<SourceFile> parse(ExecutionContext ctx, String... sources) {
+        return JavaParser.fromJavaVersion()
+          .classpathFromResources(ctx, "junit-4.13")
+          .build()
+          .parse(ctx, sources)
+          .collect(Collectors.toList());
+    }
+}
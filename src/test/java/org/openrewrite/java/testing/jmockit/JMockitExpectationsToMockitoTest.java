@@ -1721,4 +1721,146 @@ class JMockitExpectationsToMockitoTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void whenExpectationsAndVerificationsInOneMethod() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              class MyObject {
+                  public String getX() {
+                      return "X";
+                  }
+                  public String getY() {
+                      return "Y";
+                  }
+                  public void doSomething() {}
+              }
+              """
+          ),
+          java(
+            """
+              import mockit.Expectations;
+              import mockit.Mocked;
+              import mockit.Verifications;
+              import mockit.integration.junit5.JMockitExtension;
+              import org.junit.jupiter.api.extension.ExtendWith;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+
+              @ExtendWith(JMockitExtension.class)
+              class MyTest {
+                  @Mocked
+                  MyObject myObject;
+
+                  void test() {
+                      new Expectations() {{
+                          myObject.getX();
+                          result = "x";
+                          times = 1;
+                      }};
+                      assertEquals("x", myObject.getX());
+                      myObject.doSomething();
+                      new Verifications() {{
+                          myObject.doSomething();
+                      }};
+                      new Expectations() {{
+                          myObject.getY();
+                      }};
+                      myObject.getY();
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.extension.ExtendWith;
+              import org.mockito.Mock;
+              import org.mockito.junit.jupiter.MockitoExtension;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+              import static org.mockito.Mockito.*;
+
+              @ExtendWith(MockitoExtension.class)
+              class MyTest {
+                  @Mock
+                  MyObject myObject;
+
+                  void test() {
+                      when(myObject.getX()).thenReturn("x");
+                      assertEquals("x", myObject.getX());
+                      myObject.doSomething();
+                      verify(myObject).doSomething();
+                      myObject.getY();
+                      verify(myObject, times(1)).getX();
+                      verify(myObject).getY();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void whenResultCannotBeRewrittenFallsBackToStatementTemplates() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              class MyObject {
+                  public String getX() {
+                      return "X";
+                  }
+                  public String[] getNames() {
+                      return new String[0];
+                  }
+              }
+              """
+          ),
+          java(
+            """
+              import mockit.Expectations;
+              import mockit.Mocked;
+              import mockit.integration.junit5.JMockitExtension;
+              import org.junit.jupiter.api.extension.ExtendWith;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+
+              @ExtendWith(JMockitExtension.class)
+              class MyTest {
+                  @Mocked
+                  MyObject myObject;
+
+                  void test() {
+                      new Expectations() {{
+                          myObject.getX();
+                          result = "x";
+                          myObject.getNames();
+                          result = new String[]{"a"};
+                      }};
+                      assertEquals("x", myObject.getX());
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.extension.ExtendWith;
+              import org.mockito.Mock;
+              import org.mockito.junit.jupiter.MockitoExtension;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+              import static org.mockito.Mockito.when;
+
+              @ExtendWith(MockitoExtension.class)
+              class MyTest {
+                  @Mock
+                  MyObject myObject;
+
+                  void test() {
+                      when(myObject.getX()).thenReturn("x");
+                      assertEquals("x", myObject.getX());
+                  }
+              }
+              """
+          )
+        );
+    }
 }
@@ -554,4 +554,41 @@ void verifyClassExtendsAssertMethodArgumentsOrderRetained() {
       )
     );
 }
+
+    @Test
+    void retargetsStaticallyImportedAndQualifiedAssertionsTogether() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.Assert;
+
+              import static org.junit.Assert.assertTrue;
+
+              class MyTest {
+                  void test(Object value) {
+                      assertTrue("flag", true);
+                      Assert.assertNotNull("value", value);
+                      Assert.assertEquals(1, 1);
+                      assertTrue(value != null);
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Assertions;
+
+              import static org.junit.jupiter.api.Assertions.assertTrue;
+
+              class MyTest {
+                  void test(Object value) {
+                      assertTrue(true, "flag");
+                      Assertions.assertNotNull(value, "value");
+                      Assertions.assertEquals(1, 1);
+                      assertTrue(value != null);
+                  }
+              }
+              """
+          )
+        );
+    }
 }
@@ -0,0 +1,356 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.junit5;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.java.Assertions.srcTestJava;
+import static org.openrewrite.properties.Assertions.properties;
+
+class ConfigureParallelExecutionTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "junit-jupiter-api-5.9"))
+          .recipe(new ConfigureParallelExecution());
+    }
+
+    @DocumentExample
+    @Test
+    void createsPlatformProperties() {
+        rewriteRun(
+          srcTestJava(
+            //language=java
+            java(
+              """
+                import org.junit.jupiter.api.Test;
+
+                class CalculatorTest {
+                    @Test
+                    void adds() {
+                    }
+                }
+                """
+            )
+          ),
+          properties(
+            null,
+            """
+              junit.jupiter.execution.parallel.enabled=true
+              junit.jupiter.execution.parallel.mode.default=concurrent
+              junit.jupiter.execution.parallel.mode.classes.default=concurrent
+              """,
+            spec -> spec.path("src/test/resources/junit-platform.properties")
+          )
+        );
+    }
+
+    @Test
+    void keepsExistingProperties() {
+        rewriteRun(
+          srcTestJava(
+            //language=java
+            java(
+              """
+                import org.junit.jupiter.api.Test;
+
+                class CalculatorTest {
+                    @Test
+                    void adds() {
+                    }
+                }
+                """
+            )
+          ),
+          properties(
+            """
+              junit.jupiter.execution.parallel.enabled=false
+              junit.jupiter.displayname.generator.default=org.junit.jupiter.api.DisplayNameGenerator$ReplaceUnderscores
+              """,
+            """
+              junit.jupiter.execution.parallel.enabled=false
+              junit.jupiter.displayname.generator.default=org.junit.jupiter.api.DisplayNameGenerator$ReplaceUnderscores
+              junit.jupiter.execution.parallel.mode.default=concurrent
+              junit.jupiter.execution.parallel.mode.classes.default=concurrent
+              """,
+            spec -> spec.path("src/test/resources/junit-platform.properties")
+          )
+        );
+    }
+
+    @Test
+    void serializesClassWithMutableStaticState() {
+        rewriteRun(
+          srcTestJava(
+            //language=java
+            java(
+              """
+                import org.junit.jupiter.api.BeforeEach;
+                import org.junit.jupiter.api.Test;
+
+                class CounterTest {
+                    static int counter;
+
+                    @BeforeEach
+                    void reset() {
+                        counter = 0;
+                    }
+
+                    @Test
+                    void increments() {
+                        counter++;
+                    }
+                }
+                """,
+              """
+                import org.junit.jupiter.api.BeforeEach;
+                import org.junit.jupiter.api.Test;
+                import org.junit.jupiter.api.parallel.Execution;
+                import org.junit.jupiter.api.parallel.ExecutionMode;
+
+                @Execution(ExecutionMode.SAME_THREAD)
+                class CounterTest {
+                    static int counter;
+
+                    @BeforeEach
+                    void reset() {
+                        counter = 0;
+                    }
+
+                    @Test
+                    void increments() {
+                        counter++;
+                    }
+                }
+                """
+            )
+          ),
+          properties(
+            "junit.jupiter.execution.parallel.enabled=true\n",
+            """
+              junit.jupiter.execution.parallel.enabled=true
+              junit.jupiter.execution.parallel.mode.default=concurrent
+              junit.jupiter.execution.parallel.mode.classes.default=concurrent
+              """,
+            spec -> spec.path("src/test/resources/junit-platform.properties")
+          )
+        );
+    }
+
+    @Test
+    void serializesClassWithStaticFinalCollection() {
+        rewriteRun(
+          srcTestJava(
+            //language=java
+            java(
+              """
+                import org.junit.jupiter.api.Test;
+
+                import java.util.ArrayList;
+                import java.util.List;
+
+                class RegistryTest {
+                    static final List<String> REGISTERED = new ArrayList<>();
+
+                    @Test
+                    void registers() {
+                        REGISTERED.add("a");
+                    }
+                }
+                """,
+              """
+                import org.junit.jupiter.api.Test;
+                import org.junit.jupiter.api.parallel.Execution;
+                import org.junit.jupiter.api.parallel.ExecutionMode;
+
+                import java.util.ArrayList;
+                import java.util.List;
+
+                @Execution(ExecutionMode.SAME_THREAD)
+                class RegistryTest {
+                    static final List<String> REGISTERED = new ArrayList<>();
+
+                    @Test
+                    void registers() {
+                        REGISTERED.add("a");
+                    }
+                }
+                """
+            )
+          ),
+          properties(
+            "junit.jupiter.execution.parallel.enabled=true\n",
+            """
+              junit.jupiter.execution.parallel.enabled=true
+              junit.jupiter.execution.parallel.mode.default=concurrent
+              junit.jupiter.execution.parallel.mode.classes.default=concurrent
+              """,
+            spec -> spec.path("src/test/resources/junit-platform.properties")
+          )
+        );
+    }
+
+    @Test
+    void serializesClassWithStaticFinalArrayOrAtomic() {
+        rewriteRun(
+          srcTestJava(
+            //language=java
+            java(
+              """
+                import org.junit.jupiter.api.Test;
+
+                import java.util.concurrent.atomic.AtomicInteger;
+
+                class SequenceTest {
+                    static final AtomicInteger NEXT = new AtomicInteger();
+                    static final int[] SEEN = new int[8];
+
+                    @Test
+                    void advances() {
+                        SEEN[NEXT.getAndIncrement()] = 1;
+                    }
+                }
+                """,
+              """
+                import org.junit.jupiter.api.Test;
+                import org.junit.jupiter.api.parallel.Execution;
+                import org.junit.jupiter.api.parallel.ExecutionMode;
+
+                import java.util.concurrent.atomic.AtomicInteger;
+
+                @Execution(ExecutionMode.SAME_THREAD)
+                class SequenceTest {
+                    static final AtomicInteger NEXT = new AtomicInteger();
+                    static final int[] SEEN = new int[8];
+
+                    @Test
+                    void advances() {
+                        SEEN[NEXT.getAndIncrement()] = 1;
+                    }
+                }
+                """
+            )
+          ),
+          properties(
+            "junit.jupiter.execution.parallel.enabled=true\n",
+            """
+              junit.jupiter.execution.parallel.enabled=true
+              junit.jupiter.execution.parallel.mode.default=concurrent
+              junit.jupiter.execution.parallel.mode.classes.default=concurrent
+              """,
+            spec -> spec.path("src/test/resources/junit-platform.properties")
+          )
+        );
+    }
+
+    @Test
+    void keepsClassWithStaticFinalConstantConcurrent() {
+        rewriteRun(
+          srcTestJava(
+            //language=java
+            java(
+              """
+                import org.junit.jupiter.api.Test;
+
+                class GreetingTest {
+                    static final String GREETING = "hello";
+
+                    @Test
+                    void greets() {
+                        GREETING.length();
+                    }
+                }
+                """
+            )
+          ),
+          properties(
+            """
+              junit.jupiter.execution.parallel.enabled=true
+              junit.jupiter.execution.parallel.mode.default=concurrent
+              junit.jupiter.execution.parallel.mode.classes.default=concurrent
+              """,
+            spec -> spec.path("src/test/resources/junit-platform.properties")
+          )
+        );
+    }
+
+    @Test
+    void locksSystemProperties() {
+        rewriteRun(
+          srcTestJava(
+            //language=java
+            java(
+              """
+                import org.junit.jupiter.api.Test;
+
+                class LocaleTest {
+                    @Test
+                    void usesConfiguredLocale() {
+                        System.setProperty("user.language", "de");
+                    }
+                }
+                """,
+              """
+                import org.junit.jupiter.api.Test;
+                import org.junit.jupiter.api.parallel.ResourceLock;
+                import org.junit.jupiter.api.parallel.Resources;
+
+                @ResourceLock(Resources.SYSTEM_PROPERTIES)
+                class LocaleTest {
+                    @Test
+                    void usesConfiguredLocale() {
+                        System.setProperty("user.language", "de");
+                    }
+                }
+                """
+            )
+          ),
+          properties(
+            "junit.jupiter.execution.parallel.enabled=true\n",
+            """
+              junit.jupiter.execution.parallel.enabled=true
+              junit.jupiter.execution.parallel.mode.default=concurrent
+              junit.jupiter.execution.parallel.mode.classes.default=concurrent
+              """,
+            spec -> spec.path("src/test/resources/junit-platform.properties")
+          )
+        );
+    }
+
+    @Test
+    void noChangeWithoutJupiterTests() {
+        rewriteRun(
+          srcTestJava(
+            //language=java
+            java(
+              """
+                class Helper {
+                    static int counter;
+                }
+                """
+            )
+          )
+        );
+    }
+}
@@ -17,12 +17,18 @@ package org.openrewrite.java.testing.junit5;
 
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
+import org.openrewrite.ExecutionContext;
 import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.test.RewriteTest.toRecipe;
 
 class MigrateJUnitTestCaseTest implements RewriteTest {
 
@@ -337,4 +343,177 @@ class MigrateJUnitTestCaseTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void fusedTraversalMatchesVisitorSequence() {
+        //language=java
+        String before = """
+          import junit.framework.Assert;
+          import junit.framework.TestCase;
+
+          public class MathTest extends TestCase {
+              public void testAdd() {
+                  assertEquals("sum", 2, 1 + 1);
+                  Helper.check(2);
+              }
+
+              static class Helper {
+                  static void check(int value) {
+                      Assert.assertEquals("value", 2, value);
+                  }
+              }
+          }
+          """;
+        //language=java
+        String after = """
+          import org.junit.jupiter.api.Test;
+
+          import static org.junit.jupiter.api.Assertions.assertEquals;
+
+          public class MathTest {
+              @Test
+              public void testAdd() {
+                  assertEquals(2, 1 + 1, "sum");
+                  Helper.check(2);
+              }
+
+              static class Helper {
+                  static void check(int value) {
+                      assertEquals(2, value, "value");
+                  }
+              }
+          }
+          """;
+        rewriteRun(java(before, after));
+        rewriteRun(spec -> spec.recipe(toRecipe(() -> new MigrateJUnitTestCase.VisitorSequence())),
+          java(before, after));
+    }
+
+    @Test
+    void fusedTraversalMigratesAssertOutsideTestCase() {
+        //language=java
+        String before = """
+          import junit.framework.Assert;
+          import org.junit.Test;
+
+          class AaTest {
+              @Test
+              public void someTest() {
+                  Assert.assertEquals("message", 1, 1);
+              }
+          }
+          """;
+        //language=java
+        String after = """
+          import org.junit.Test;
+
+          import static org.junit.jupiter.api.Assertions.assertEquals;
+
+          class AaTest {
+              @Test
+              public void someTest() {
+                  assertEquals(1, 1, "message");
+              }
+          }
+          """;
+        rewriteRun(java(before, after));
+        rewriteRun(spec -> spec.recipe(toRecipe(() -> new MigrateJUnitTestCase.VisitorSequence())),
+          java(before, after));
+
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> fail("Failed to parse", t));
+        MigrateJUnitTestCase.FusedTestCaseVisitor fused = new MigrateJUnitTestCase.FusedTestCaseVisitor();
+        J.CompilationUnit migrated = (J.CompilationUnit) fused.visitNonNull(parse(ctx, before), ctx);
+        assertThat(fused.isSupported()).isTrue();
+        assertThat(migrated.getTypesInUse().getUsedMethods())
+          .noneMatch(m -> m.getDeclaringType().getFullyQualifiedName().startsWith("junit.framework"));
+    }
+
+    @Test
+    void wildcardStaticImportFallsBackToVisitorSequence() {
+        //language=java
+        String before = """
+          import junit.framework.TestCase;
+
+          import static junit.framework.Assert.*;
+
+          public class MathTest extends TestCase {
+              public void testAdd() {
+                  assertEquals(2, 1 + 1);
+              }
+          }
+          """;
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> fail("Failed to parse", t));
+        assertThat(MigrateJUnitTestCase.FusedTestCaseVisitor.supports(parse(ctx, before))).isFalse();
+    }
+
+    @Test
+    void otherTestCaseMethodFallsBackToVisitorSequence() {
+        //language=java
+        String before = """
+          import junit.framework.TestCase;
+
+          public class MathTest extends TestCase {
+              public void testAdd() {
+                  assertEquals("testAdd", getName());
+              }
+          }
+          """;
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> fail("Failed to parse", t));
+        assertThat(MigrateJUnitTestCase.FusedTestCaseVisitor.supports(parse(ctx, before))).isFalse();
+    }
+
+    @Test
+    void testCaseReferenceFallsBackToVisitorSequence() {
+        //language=java
+        String before = """
+          import junit.framework.TestCase;
+
+          public class MathTest extends TestCase {
+              public void testAdd() {
+                  TestCase self = this;
+                  assertNotNull(self);
+              }
+          }
+          """;
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> fail("Failed to parse", t));
+        J.CompilationUnit cu = parse(ctx, before);
+        assertThat(MigrateJUnitTestCase.FusedTestCaseVisitor.supports(cu)).isTrue();
+        MigrateJUnitTestCase.FusedTestCaseVisitor fused = new MigrateJUnitTestCase.FusedTestCaseVisitor();
+        fused.visitNonNull(cu, ctx);
+        assertThat(fused.isSupported()).isFalse();
+    }
+
+    @Test
+    void untypedAssertionFallsBackToVisitorSequence() {
+        //language=java
+        String before = """
+          import junit.framework.TestCase;
+
+          public class MathTest extends TestCase {
+              public void testAdd() {
+                  assertEquals(2, 1 + 1);
+              }
+          }
+          """;
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> fail("Failed to parse", t));
+        J.CompilationUnit untyped = (J.CompilationUnit) new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                return super.visitMethodInvocation(method, ctx).withMethodType(null);
+            }
+        }.visitNonNull(parse(ctx, before), ctx);
+
+        MigrateJUnitTestCase.FusedTestCaseVisitor fused = new MigrateJUnitTestCase.FusedTestCaseVisitor();
+        fused.visitNonNull(untyped, ctx);
+        assertThat(fused.isSupported()).isFalse();
+    }
+
+    private static J.CompilationUnit parse(ExecutionContext ctx, String source) {
+        return (J.CompilationUnit) JavaParser.fromJavaVersion()
+          .classpathFromResources(ctx, "junit-4.13")
+          .build()
+          .parse(ctx, source)
+          .findFirst()
+          .orElseThrow();
+    }
 }
@@ -246,4 +246,69 @@ class UpdateBeforeAfterAnnotationsTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void allLifecycleAnnotationsInOneClass() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.After;
+              import org.junit.AfterClass;
+              import org.junit.Before;
+              import org.junit.BeforeClass;
+
+              class Test {
+                  @BeforeClass
+                  static void beforeClass() {
+                  }
+
+                  @Before
+                  void before() {
+                  }
+
+                  @After
+                  void after() {
+                  }
+
+                  @AfterClass
+                  static void afterClass() {
+                  }
+
+                  @org.junit.Before
+                  void alsoBefore() {
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.AfterAll;
+              import org.junit.jupiter.api.AfterEach;
+              import org.junit.jupiter.api.BeforeAll;
+              import org.junit.jupiter.api.BeforeEach;
+
+              class Test {
+                  @BeforeAll
+                  static void beforeClass() {
+                  }
+
+                  @BeforeEach
+                  void before() {
+                  }
+
+                  @AfterEach
+                  void after() {
+                  }
+
+                  @AfterAll
+                  static void afterClass() {
+                  }
+
+                  @org.junit.jupiter.api.BeforeEach
+                  void alsoBefore() {
+                  }
+              }
+              """
+          )
+        );
+    }
 }
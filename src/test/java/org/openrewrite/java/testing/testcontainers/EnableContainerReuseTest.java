@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.testcontainers;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.testing.table.ContainerDeclarations;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class EnableContainerReuseTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .recipe(new EnableContainerReuse())
+          .parser(JavaParser.fromJavaVersion().classpath("nginx", "testcontainers"));
+    }
+
+    @DocumentExample
+    @Test
+    void reuseSingletonContainer() {
+        rewriteRun(
+          spec -> spec.dataTable(ContainerDeclarations.Row.class, rows -> assertThat(rows)
+            .containsExactly(
+              new ContainerDeclarations.Row("NginxTest.java", "shared", "org.testcontainers.containers.NginxContainer", "nginx:1.9.4", "static", true),
+              new ContainerDeclarations.Row("NginxTest.java", "perTest", "org.testcontainers.containers.NginxContainer", null, "instance", false))),
+          //language=java
+          java(
+            """
+              import org.testcontainers.containers.NginxContainer;
+
+              class NginxTest {
+                  static NginxContainer shared = new NginxContainer("nginx:1.9.4");
+                  NginxContainer perTest = new NginxContainer();
+
+                  static {
+                      shared.start();
+                  }
+              }
+              """,
+            """
+              import org.testcontainers.containers.NginxContainer;
+
+              class NginxTest {
+                  static NginxContainer shared = new NginxContainer("nginx:1.9.4").withReuse(true);
+                  NginxContainer perTest = new NginxContainer();
+
+                  static {
+                      shared.start();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void alreadyReused() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import org.testcontainers.containers.NginxContainer;
+
+              class NginxTest {
+                  static NginxContainer shared = new NginxContainer("nginx:1.9.4").withReuse(true);
+              }
+              """
+          )
+        );
+    }
+}
@@ -20,6 +20,8 @@ import org.openrewrite.DocumentExample;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.test.RewriteTest;
 
+import java.util.Map;
+
 import static org.openrewrite.java.Assertions.java;
 
 class ExplicitContainerImageTest implements RewriteTest {
@@ -98,4 +100,33 @@ class ExplicitContainerImageTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void explicitContainerImageTable() {
+        rewriteRun(
+          spec -> spec
+            .recipe(new ExplicitContainerImageTable(
+              Map.of("org.testcontainers.containers.PostgreSQLContainer", "postgres:9.6.12"),
+              Map.of("org.testcontainers.containers.NginxContainer", "nginx:1.9.4")))
+            .parser(JavaParser.fromJavaVersion().classpath("nginx")),
+          //language=java
+          java(
+            """
+              import org.testcontainers.containers.NginxContainer;
+
+              class Foo {
+                  NginxContainer container = new NginxContainer();
+              }
+              """,
+            """
+              import org.testcontainers.containers.NginxContainer;
+              import org.testcontainers.utility.DockerImageName;
+
+              class Foo {
+                  NginxContainer container = new NginxContainer(DockerImageName.parse("nginx:1.9.4"));
+              }
+              """
+          )
+        );
+    }
 }
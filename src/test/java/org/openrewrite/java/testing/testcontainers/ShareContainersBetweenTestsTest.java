@@ -0,0 +1,184 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.testcontainers;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class ShareContainersBetweenTestsTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec
+          .recipe(new ShareContainersBetweenTests())
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "junit-jupiter-api-5.9")
+            .classpath("nginx", "testcontainers")
+            //language=java
+            .dependsOn(
+              """
+                package org.testcontainers.junit.jupiter;
+                import java.lang.annotation.*;
+                @Target({ElementType.FIELD})
+                @Retention(RetentionPolicy.RUNTIME)
+                public @interface Container {
+                }
+                """
+            ));
+    }
+
+    @DocumentExample
+    @Test
+    void containerFieldBecomesStatic() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+              import org.testcontainers.containers.NginxContainer;
+              import org.testcontainers.junit.jupiter.Container;
+
+              class NginxTest {
+                  @Container
+                  private NginxContainer nginx = new NginxContainer("nginx:1.9.4");
+
+                  @Test
+                  void host() {
+                      System.out.println(nginx.getHost());
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+              import org.testcontainers.containers.NginxContainer;
+              import org.testcontainers.junit.jupiter.Container;
+
+              class NginxTest {
+                  @Container
+                  private static NginxContainer nginx = new NginxContainer("nginx:1.9.4");
+
+                  @Test
+                  void host() {
+                      System.out.println(nginx.getHost());
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void containerStartedBeforeEachTestBecomesSingleton() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import org.junit.jupiter.api.AfterEach;
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+              import org.testcontainers.containers.NginxContainer;
+
+              class NginxTest {
+                  NginxContainer nginx;
+
+                  @BeforeEach
+                  void setUp() {
+                      nginx = new NginxContainer("nginx:1.9.4");
+                      nginx.start();
+                  }
+
+                  @AfterEach
+                  void tearDown() {
+                      nginx.stop();
+                  }
+
+                  @Test
+                  void host() {
+                      System.out.println(nginx.getHost());
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+              import org.testcontainers.containers.NginxContainer;
+
+              class NginxTest {
+                  static NginxContainer nginx = new NginxContainer("nginx:1.9.4");
+
+                  static {
+                      nginx.start();
+                  }
+
+                  @Test
+                  void host() {
+                      System.out.println(nginx.getHost());
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void mutatedContainerIsNotShared() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+              import org.testcontainers.containers.NginxContainer;
+              import org.testcontainers.junit.jupiter.Container;
+
+              class NginxTest {
+                  @Container
+                  NginxContainer nginx = new NginxContainer("nginx:1.9.4");
+
+                  @Test
+                  void env() {
+                      nginx.withEnv("KEY", "value");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void containerUsingInstanceStateIsNotShared() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import org.testcontainers.containers.NginxContainer;
+              import org.testcontainers.junit.jupiter.Container;
+
+              class NginxTest {
+                  String image = "nginx:1.9.4";
+
+                  @Container
+                  NginxContainer nginx = new NginxContainer(image);
+              }
+              """
+          )
+        );
+    }
+}